@@ -0,0 +1,27 @@
+package edu.thejoeun.benchmark;
+
+import edu.thejoeun.member.model.service.EmailServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * EmailServiceImpl.createAuthKey 벤치마크 (6자리 인증번호 생성)
+ * 메일 발송/템플릿 엔진은 사용하지 않으므로 의존 객체 없이 생성한다.
+ */
+@State(Scope.Benchmark)
+public class AuthKeyBenchmark {
+
+    private EmailServiceImpl emailService;
+
+    @Setup
+    public void setup() {
+        emailService = new EmailServiceImpl(null, null, null);
+    }
+
+    @Benchmark
+    public String createAuthKey() {
+        return emailService.createAuthKey();
+    }
+}
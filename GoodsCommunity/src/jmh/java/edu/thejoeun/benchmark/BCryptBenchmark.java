@@ -0,0 +1,46 @@
+package edu.thejoeun.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt matches / encode 벤치마크 (로그인 1회 비밀번호 검증, 회원가입 1회 암호화 비용)
+ * cost : PasswordHasher 의 BCrypt 강도 (password.bcrypt.cost, 미설정 시 서버 시작 시 측정해서 결정)
+ *        cost 가 1 오를 때마다 시간이 2배가 되는지 확인
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BCryptBenchmark {
+
+    @Param({"10", "11", "12"})
+    private int cost;
+
+    private BCryptPasswordEncoder encoder;
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        encoder = new BCryptPasswordEncoder(cost);
+        encoded = encoder.encode("abc1234");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("abc1234", encoded);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("abc1234");
+    }
+}
@@ -0,0 +1,51 @@
+package edu.thejoeun.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.thejoeun.board.model.dto.Board;
+import edu.thejoeun.product.model.dto.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 게시물 / 상품 목록 JSON 변환(Jackson) 벤치마크
+ * size : 목록 개수 (한 페이지 10개 ~ 전체 조회 1000개)
+ */
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Board> boards;
+    private List<Product> products;
+
+    @Setup
+    public void setup() {
+        boards = new ArrayList<>(size);
+        products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boards.add(new Board(i, "게시글 제목 " + i, "게시글 내용입니다. ".repeat(30), "writer" + i, i * 3,
+                    "2025-10-27 12:50:00", "2025-10-27 12:50:00", null, null, "게시글 내용입니다."));
+            products.add(new Product(i, "상품 " + i, "P" + i, "굿즈", 12000 + i, 100, "상품 설명 ".repeat(10),
+                    "제조사", "/product_images/" + i + ".jpg",
+                    "/product_images/" + i + "_w160.jpg,/product_images/" + i + "_w480.jpg", "Y", "2025-10-27 12:50:00", "2025-10-27 12:50:00"));
+        }
+    }
+
+    @Benchmark
+    public byte[] boardList() throws Exception {
+        return objectMapper.writeValueAsBytes(boards);
+    }
+
+    @Benchmark
+    public byte[] productList() throws Exception {
+        return objectMapper.writeValueAsBytes(products);
+    }
+}
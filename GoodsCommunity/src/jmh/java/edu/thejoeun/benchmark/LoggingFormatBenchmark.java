@@ -0,0 +1,55 @@
+package edu.thejoeun.benchmark;
+
+import edu.thejoeun.board.model.dto.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+
+/**
+ * LoggingAspect 문자열 생성 비용 벤치마크
+ * JoinPoint 없이 측정하기 위해 beforeController / aroundServiceImpl 의 문자열 생성 코드를 그대로 옮겨서 측정한다.
+ * (LoggingAspect 가 바뀌면 같이 수정)
+ */
+@State(Scope.Benchmark)
+public class LoggingFormatBenchmark {
+
+    private String className;
+    private String methodName;
+    private String ip;
+    private String memberEmail;
+    private Object[] args;
+
+    @Setup
+    public void setup() {
+        className = "BoardController";
+        methodName = "getBoardById";
+        ip = "127.0.0.1";
+        memberEmail = "user@thejoeun.edu";
+        Board board = new Board();
+        board.setId(1);
+        board.setTitle("게시글 제목");
+        board.setContent("게시글 내용 ".repeat(20));
+        args = new Object[]{1, board};
+    }
+
+    // beforeController 의 StringBuilder + String.format
+    @Benchmark
+    public String beforeController() {
+        String method = methodName + "()";
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("[%s.%s] 요청 ", className, method));
+        sb.append(String.format(" / ip : %s", ip));
+        sb.append(String.format(", 요청 회원 : %s", memberEmail));
+        return sb.toString();
+    }
+
+    // aroundServiceImpl 의 메서드명 + 파라미터 문자열 (log.info 인자 생성 비용)
+    @Benchmark
+    public String aroundServiceImpl() {
+        String method = methodName + "()";
+        return className + "." + method + Arrays.toString(args);
+    }
+}
@@ -0,0 +1,39 @@
+package edu.thejoeun.benchmark;
+
+import edu.thejoeun.common.util.Utility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Utility.XSSHandling 벤치마크
+ * 특수문자가 없는 일반 글 / 특수문자가 많은 글 두 경우의 1회 호출 비용 측정
+ */
+@State(Scope.Benchmark)
+public class XssHandlingBenchmark {
+
+    @Param({"plain", "markup"})
+    private String kind;
+
+    private String content;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            if ("markup".equals(kind)) {
+                sb.append("<p class=\"post\">굿즈 & 커뮤니티 <b>").append(i).append("</b></p>");
+            } else {
+                sb.append("굿즈 커뮤니티 게시글 내용입니다 ").append(i).append(' ');
+            }
+        }
+        content = sb.toString();
+    }
+
+    @Benchmark
+    public String xssHandling() {
+        return Utility.XSSHandling(content);
+    }
+}
@@ -2,13 +2,20 @@ package edu.thejoeun.board.controller;
 
 
 import edu.thejoeun.board.model.dto.Board;
+import edu.thejoeun.board.model.dto.BoardSummary;
 import edu.thejoeun.board.model.mapper.BoardMapper;
 import edu.thejoeun.board.model.service.BoardService;
+import edu.thejoeun.board.model.service.PopularBoardRanking;
 import edu.thejoeun.common.scheduling.Service.SchedulingService;
+import edu.thejoeun.common.util.NotificationDispatcher;
+import edu.thejoeun.common.util.ResourceVersions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
@@ -23,25 +30,106 @@ public class BoardController {
     // serviceImpl 에서 재 사용된 기능을 활용할 수 있다.
     private final BoardService boardService;
     private final SchedulingService schedulingService;
-    private final SimpMessagingTemplate messagingTemplate; // WebSocket 메세지 전송
+    private final NotificationDispatcher notificationDispatcher; // WebSocket 메세지 비동기 전송
+    private final ResourceVersions resourceVersions;                // ETag 생성용 버전
+    private final PopularBoardRanking popularBoardRanking;
+
+    /*
+    ETag / 조건부 GET
+    request.checkNotModified(etag) : 요청의 If-None-Match 가 etag 와 같으면 304 상태와 ETag 헤더를 설정하고 true 반환
+    -> null 을 반환하면 본문 없이 304 응답, DB 조회도 하지 않는다.
+     */
 
     // 전체 게시물 조회
+    // 목록의 조회수는 DB 값이므로 BoardViewCounter 가 조회수를 반영할 때 BOARD_LIST 버전도 증가시킨다.
     @GetMapping("/all")
-    public List<Board> getAllBoard(){
+    public List<BoardSummary> getAllBoard(WebRequest request){
+        if(request.checkNotModified(resourceVersions.etag(ResourceVersions.BOARD_LIST))){
+            return null;
+        }
         // 전체 게시물 수 조회
         // 페이지네이션 정보 추가
         return boardService.getAllBoard();
     }
 
+    /**
+     * 게시물 목록 페이지 조회
+     * page 파라미터가 있으면 페이지 번호 방식 (Pagination 포함)
+     * 없으면 커서 방식 (nextCursor / prevCursor 포함)
+     * ex) /api/board/list?size=20
+     *     /api/board/list?cursor=120&direction=next
+     *     /api/board/list?page=3
+     * @param cursor    기준 게시물 id
+     * @param direction next / prev
+     * @param page      페이지 번호
+     * @param size      한 페이지 게시물 수
+     * @return 게시물 목록과 페이지 정보
+     */
+    @GetMapping("/list")
+    public Map<String, Object> getBoardList(@RequestParam(required = false) Integer cursor,
+                                            @RequestParam(defaultValue = "next") String direction,
+                                            @RequestParam(required = false) Integer page,
+                                            @RequestParam(defaultValue = "10") int size){
+        if(page != null){
+            return boardService.getBoardListByPage(page, size);
+        }
+        return boardService.getBoardListByCursor(cursor, direction, size);
+    }
+
+    /**
+     * 게시물 검색 (제목, 내용)
+     * ex) /api/board/search?keyword=굿즈&page=1&size=10
+     * @param keyword 검색어
+     * @param page    페이지 번호
+     * @param size    한 페이지 게시물 수
+     * @return 점수순 게시물 목록과 Pagination
+     */
+    @GetMapping("/search")
+    public Map<String, Object> searchBoards(@RequestParam String keyword,
+                                            @RequestParam(defaultValue = "1") int page,
+                                            @RequestParam(defaultValue = "10") int size){
+        return boardService.searchBoards(keyword, page, size);
+    }
+
+    /**
+     * 전체 게시물 내보내기 (관리/모더레이션 도구용)
+     * NDJSON (application/x-ndjson) : 게시물 1개 = JSON 1줄
+     * DB 에서 읽는 대로 바로 응답에 쓰므로 게시물 수가 많아도 서버 메모리를 차지하지 않는다.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBoards(){
+        StreamingResponseBody body = out -> {
+            int count = boardService.exportBoards(out);
+            log.info("게시물 내보내기 완료 : {} 건", count);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header("Content-Disposition", "attachment; filename=\"boards.ndjson\"")
+                .body(body);
+    }
+
     // 게시물 상세 조회
     @GetMapping("/{id}")
-    public Board getBoardById(@PathVariable int id){
+    public Board getBoardById(@PathVariable int id, WebRequest request){
+        // 304 응답이어도 조회수는 증가해야 하므로 ETag 확인 전에 조회수만 기록한다.
+        boardService.recordView(id);
+        // 조회수는 요청마다 바뀌므로 ETag 에 넣지 않고 게시물 버전(제목, 내용 수정)만 사용한다.
+        // 조회수 차이는 같은 게시물로 보므로 약한(weak) ETag
+        if(request.checkNotModified(resourceVersions.weakEtag(ResourceVersions.board(id)))){
+            return null;
+        }
+        // 본문을 보낼 때만 게시물 조회 (캐시에서 조회)
         return boardService.getBoardById(id);
     }
 
     // 인기글 목록 조회
+    // 순위가 바뀌거나 게시물이 수정되면 ETag 변경
     @GetMapping("/popular") //"/api/board/popular"
-    public List<Board> getPopularBoards(){
+    public List<BoardSummary> getPopularBoards(WebRequest request){
+        String etag = resourceVersions.etag(ResourceVersions.BOARD_LIST, popularBoardRanking.getVersion());
+        if(request.checkNotModified(etag)){
+            return null;
+        }
         return schedulingService.getPopularBoards();
     }
 
@@ -57,7 +145,8 @@ public class BoardController {
         notification.put("writer", board.getWriter());
         notification.put("timestamp", System.currentTimeMillis());
         // /topic/notifications 구독한 모든 클라이언트에게 전송한다.
-        messagingTemplate.convertAndSend("/topic/notifications", notification);
-        log.info("새 게시글 작성 및 WebSocket 알림 전송 완료 : {}", board.getTitle()); // 개발자 회사 로그용
+        // 큐에 넣기만 하고 바로 응답하며, 짧은 시간 안에 작성된 게시글 알림은 한 번에 묶어서 전송된다.
+        notificationDispatcher.publish("/topic/notifications", notification);
+        log.info("새 게시글 작성 및 WebSocket 알림 전송 요청 완료 : {}", board.getTitle()); // 개발자 회사 로그용
     }
 }
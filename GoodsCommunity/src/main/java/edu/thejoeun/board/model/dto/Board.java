@@ -20,6 +20,8 @@ public class Board {
     private String updatedAt;
     private Integer ranking;
     private String popularUpdateAt;
+    // 목록 미리보기용 내용 앞부분 (작성/수정 시 저장)
+    private String excerpt;
 }
 
 
@@ -0,0 +1,30 @@
+package edu.thejoeun.board.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 게시물 목록용 요약 DTO
+ * 목록 화면은 제목, 작성자, 조회수, 날짜만 보여주므로
+ * 용량이 큰 content(CLOB) 대신 작성 시 저장해둔 excerpt(미리보기 문장)만 전달한다.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoardSummary {
+
+    private int id;
+    private String title;
+    private String writer;
+    private String excerpt;
+    private int viewCount;
+    private String createdAt;
+    private String updatedAt;
+    private Integer ranking;
+
+    public static BoardSummary from(Board b) {
+        return new BoardSummary(b.getId(), b.getTitle(), b.getWriter(), b.getExcerpt(), b.getViewCount(),
+                b.getCreatedAt(), b.getUpdatedAt(), b.getRanking());
+    }
+}
@@ -1,5 +1,8 @@
 package edu.thejoeun.board.model.dto;
 
+import lombok.Getter;
+import lombok.ToString;
+
 /** Pagination : 목록을 일정 페이지로 분할해서
  *               원하는 페이지를 볼 수 있게 하는 것
  *               == 페이징 처리
@@ -15,6 +18,8 @@ package edu.thejoeun.board.model.dto;
  * 그 전 페이지 데이터나, 그 후 페이지 데이터를 나누어 프론트엔드에게
  * 40만 장 중 30장을 부분 전달
  */
+@Getter
+@ToString
 public class Pagination {
 
     private int currentPage;   // 현재 페이지 번호
@@ -28,4 +33,46 @@ public class Pagination {
     private int endPage;       // 보여지는 맨 뒤 페이지 번호
     private int prevPage;      // 이전 페이지 모음의 마지막 번호
     private int nextPage;      // 다음 페이지 모음의 시작 번호
+
+    public Pagination(int currentPage, int listCount) {
+        this.currentPage = currentPage;
+        this.listCount = listCount;
+        calculate();
+    }
+
+    public Pagination(int currentPage, int listCount, int limit, int pageSize) {
+        this.currentPage = currentPage;
+        this.listCount = listCount;
+        this.limit = limit;
+        this.pageSize = pageSize;
+        calculate();
+    }
+
+    /**
+     * DB 에서 건너뛸 행의 수 (OFFSET)
+     * @return (현재 페이지 - 1) * 한 페이지 목록 수
+     */
+    public int getOffset() {
+        return (currentPage - 1) * limit;
+    }
+
+    /**
+     * 전달받은 현재 페이지, 전체 게시글 수를 이용해
+     * 나머지 페이지 번호들을 계산한다.
+     * 게시글이 0개여도 maxPage 는 1 로 유지한다.
+     */
+    private void calculate() {
+        maxPage = Math.max(1, (int) Math.ceil((double) listCount / limit));
+
+        // 범위를 벗어난 페이지 번호는 첫/마지막 페이지로 보정
+        if (currentPage < 1) currentPage = 1;
+        if (currentPage > maxPage) currentPage = maxPage;
+
+        // 1~10 -> 1, 11~20 -> 11 ...
+        startPage = (currentPage - 1) / pageSize * pageSize + 1;
+        endPage = Math.min(startPage + pageSize - 1, maxPage);
+
+        prevPage = startPage <= pageSize ? 1 : startPage - 1;
+        nextPage = endPage == maxPage ? maxPage : endPage + 1;
+    }
 }
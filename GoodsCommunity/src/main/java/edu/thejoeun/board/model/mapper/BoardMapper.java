@@ -1,16 +1,57 @@
 package edu.thejoeun.board.model.mapper;
 
 import edu.thejoeun.board.model.dto.Board;
+import edu.thejoeun.board.model.dto.BoardSummary;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
+import java.util.Map;
 
 @Mapper
 public interface BoardMapper {
 
     // mapper.xml 에 작성한
     // id 와 메서드명칭은 일치
-    List<Board> getAllBoard();
+    // 목록 조회는 content 를 제외한 요약 정보만 조회
+    List<BoardSummary> getAllBoard();
+
+    /**
+     * 전체 게시물 수 조회 (페이지 번호 방식 Pagination 계산용)
+     * @return 전체 게시물 수
+     */
+    int getBoardListCount();
+
+    /**
+     * 커서(keyset) 방식 목록 조회
+     * (created_at, id) 기준으로 커서 게시물 다음 행부터 limit 개 조회
+     * OFFSET 을 사용하지 않으므로 몇 번째 페이지든 조회 비용이 동일하다.
+     * @param cursor    기준 게시물 id (null 이면 첫 페이지)
+     * @param direction "next" : 커서 이후(더 오래된) 게시물 / "prev" : 커서 이전(더 최신) 게시물
+     * @param limit     조회할 행 수
+     * @return prev 방향은 오래된 순서(ASC)로 반환되므로 호출하는 쪽에서 뒤집어 사용
+     */
+    List<BoardSummary> getBoardListByCursor(@Param("cursor") Integer cursor,
+                                     @Param("direction") String direction,
+                                     @Param("limit") int limit);
+
+    /**
+     * 페이지 번호(OFFSET) 방식 목록 조회
+     * @param offset 건너뛸 행 수
+     * @param limit  조회할 행 수
+     * @return 해당 페이지 게시물 목록
+     */
+    List<BoardSummary> getBoardListByOffset(@Param("offset") int offset,
+                                     @Param("limit") int limit);
+
+    /**
+     * 전체 게시물 내보내기용 커서 조회
+     * List 로 한 번에 담지 않고 한 행씩 꺼내 쓰므로 게시물 수와 상관없이 메모리 사용량이 일정하다.
+     * 트랜잭션(세션)이 열려있는 동안에만 사용할 수 있다.
+     * @return 게시물 커서
+     */
+    Cursor<Board> exportBoards();
 
     /**
      * 게시물 클릭하면 상세 조회
@@ -38,4 +79,11 @@ public interface BoardMapper {
      */
     void updateViewCount(int id);
 
+    /**
+     * 모아둔 조회수 증가분을 한 번의 UPDATE 로 반영
+     * @param deltas 게시물 id : 증가분 (최대 1000 개)
+     * @return 수정된 행 수
+     */
+    int updateViewCounts(@Param("deltas") Map<Integer, Long> deltas);
+
 }
@@ -0,0 +1,80 @@
+package edu.thejoeun.board.model.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.thejoeun.board.model.dto.Board;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.IntFunction;
+
+/**
+ * 게시물 상세 조회 캐시 (read-through)
+ *
+ * 게시물은 작성 후 거의 수정되지 않으므로 상세 조회 결과를 메모리에 보관한다.
+ * Caffeine 의 W-TinyLFU 방식으로 자주 조회되는 게시물을 남기고,
+ * 제목/내용 길이를 기준으로 전체 크기(board.cache.max-weight-bytes)를 제한한다.
+ *
+ * 적중/미적중/제거 통계는 actuator metrics 의 cache.* (cache=boardDetail) 로 확인한다.
+ */
+@Component
+public class BoardDetailCache {
+
+    private final Cache<Integer, Board> cache;
+
+    public BoardDetailCache(@Value("${board.cache.max-weight-bytes:33554432}") long maxWeightBytes,
+                            @Value("${board.cache.expire-after-write-minutes:60}") long expireMinutes,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((Integer id, Board b) -> weigh(b))
+                .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "boardDetail");
+    }
+
+    /**
+     * 캐시에 있으면 캐시에서, 없으면 loader 로 DB 조회 후 캐시에 저장
+     * 존재하지 않는 게시물(null)은 캐시하지 않는다.
+     * @param id     게시물 id
+     * @param loader DB 조회 함수
+     * @return 캐시된 게시물 (공유 객체이므로 수정하지 말 것)
+     */
+    public Board get(int id, IntFunction<Board> loader) {
+        return cache.get(id, key -> loader.apply(key));
+    }
+
+    /**
+     * 캐시에 있을 때만 반환 (DB 조회하지 않음)
+     * @param id 게시물 id
+     * @return 캐시된 게시물 (공유 객체이므로 수정하지 말 것), 없으면 null
+     */
+    public Board getIfPresent(int id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * 게시물 작성/수정 시 캐시 제거
+     * @param id 게시물 id
+     */
+    public void invalidate(int id) {
+        cache.invalidate(id);
+    }
+
+    // Java 문자열은 글자당 최대 2byte, 나머지 필드는 대략 128byte 로 추정
+    private static int weigh(Board b) {
+        long size = 128;
+        size += 2L * length(b.getTitle());
+        size += 2L * length(b.getContent());
+        size += 2L * length(b.getWriter());
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    private static int length(String s) {
+        return s != null ? s.length() : 0;
+    }
+}
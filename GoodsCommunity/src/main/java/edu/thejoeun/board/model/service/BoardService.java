@@ -1,14 +1,76 @@
 package edu.thejoeun.board.model.service;
 
 import edu.thejoeun.board.model.dto.Board;
+import edu.thejoeun.board.model.dto.BoardSummary;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 
 public interface BoardService {
 
-    List<Board> getAllBoard();
+    List<BoardSummary> getAllBoard();
+
+    /**
+     * 커서 방식 게시물 목록 조회
+     * @param cursor    기준 게시물 id (null 이면 첫 페이지)
+     * @param direction next / prev
+     * @param size      한 페이지 게시물 수
+     * @return boards, nextCursor, prevCursor
+     */
+    Map<String, Object> getBoardListByCursor(Integer cursor, String direction, int size);
+
+    /**
+     * 페이지 번호 방식 게시물 목록 조회
+     * @param page 현재 페이지 번호
+     * @param size 한 페이지 게시물 수
+     * @return boards, pagination
+     */
+    Map<String, Object> getBoardListByPage(int page, int size);
+    /**
+     * 게시물 상세 조회 (조회수는 증가시키지 않음, recordView 로 따로 기록)
+     * @param id 게시물 id
+     * @return 반영 대기 중인 조회수까지 더한 게시물, 없으면 null
+     */
     Board getBoardById(int id);
 
+    /**
+     * 게시물 상세 조회 1회 기록
+     * 304 응답에도 기록되도록 ETag 확인 전에 호출하며, 게시물을 조회하지 않는다.
+     * @param id 게시물 id
+     */
+    void recordView(int id);
+
+    /**
+     * 전체 게시물을 NDJSON (한 줄에 JSON 하나) 형식으로 출력
+     * @param out 응답 스트림
+     * @return 내보낸 게시물 수
+     */
+    int exportBoards(OutputStream out) throws IOException;
+
+    /**
+     * 게시물 검색 (제목, 내용)
+     * @param keyword 검색어
+     * @param page    페이지 번호
+     * @param size    한 페이지 게시물 수
+     * @return boards, pagination
+     */
+    Map<String, Object> searchBoards(String keyword, int page, int size);
+
+    /**
+     * 검색 색인을 DB 전체 게시물로 다시 생성
+     * @return 색인된 게시물 수
+     */
+    int rebuildSearchIndex();
+
     void createBoard(Board board);
 
+    /**
+     * 게시물 수정 (제목, 내용) 후 상세 캐시 / 목록 ETag / 검색 색인 갱신
+     * 로그인 사용자와 작성자 확인은 하지 않으므로 호출하는 쪽에서 확인해야 한다.
+     * (게시물 작성자가 회원 정보와 연결되어 있지 않아 현재 공개 API 로는 열어두지 않는다.)
+     */
+    void updateBoard(Board board);
+
 }
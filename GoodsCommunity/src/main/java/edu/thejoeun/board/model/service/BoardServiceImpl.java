@@ -2,12 +2,26 @@ package edu.thejoeun.board.model.service;
 
 
 import edu.thejoeun.board.model.dto.Board;
+import edu.thejoeun.board.model.dto.BoardSummary;
+import edu.thejoeun.board.model.dto.Pagination;
 import edu.thejoeun.board.model.mapper.BoardMapper;
+import edu.thejoeun.common.util.NgramIndex;
+import edu.thejoeun.common.util.ResourceVersions;
+import edu.thejoeun.common.util.Utility;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -17,27 +31,228 @@ public class BoardServiceImpl  implements BoardService {
     // Autowired 보다 RequiredArgsConstructor 처리해주는 것이
     // 상수화하여 Mapper 를 사용할 수 있으므로 안전 -> 내부 메서드나 데이터 변경 불가
     private final BoardMapper boardMapper;
+    private final BoardViewCounter boardViewCounter;
+    private final BoardDetailCache boardDetailCache;
+    private final PopularBoardRanking popularBoardRanking;
+    private final ObjectMapper objectMapper;
+    private final ResourceVersions resourceVersions;
+
+    // 한 번에 조회 가능한 최대 게시물 수
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // 목록 미리보기 글자 수
+    private static final int EXCERPT_LENGTH = 100;
+
+    // 게시물 검색 색인 : 2글자(bigram) 단위, 제목 가중치 3 / 내용 가중치 1
+    // 다시 만들 때는 새 색인을 따로 만든 뒤 참조만 교체한다. (만드는 동안에도 검색은 기존 색인 사용)
+    private volatile NgramIndex searchIndex = newSearchIndex();
+    private final Object searchIndexLock = new Object();
+    // 색인을 다시 만드는 중에 작성/수정된 게시물 (새 색인에 마지막으로 다시 반영), 재생성 중이 아니면 null
+    private List<Board> indexedDuringRebuild;
 
     @Override
-    public List<Board> getAllBoard() {
+    public List<BoardSummary> getAllBoard() {
         return boardMapper.getAllBoard();
     }
 
     @Override
-    public Board getBoardById(int id) {
-        // 게시물 상세조회를 선택했을 때 해당 게시물의 조회수 증가
-        boardMapper.updateViewCount(id);
+    public Map<String, Object> getBoardListByCursor(Integer cursor, String direction, int size) {
+        int limit = clampSize(size);
+        boolean prev = "prev".equals(direction) && cursor != null;
+
+        // 다음 페이지 존재 여부 확인을 위해 1개 더 조회
+        List<BoardSummary> boards = boardMapper.getBoardListByCursor(cursor, prev ? "prev" : "next", limit + 1);
+        boolean hasMore = boards.size() > limit;
+        if (hasMore) {
+            boards = boards.subList(0, limit);
+        }
+        // prev 방향은 오래된 순으로 조회되므로 최신순으로 뒤집는다.
+        if (prev) {
+            Collections.reverse(boards);
+        }
+
+        Integer nextCursor = null;
+        Integer prevCursor = null;
+        if (!boards.isEmpty()) {
+            int firstId = boards.get(0).getId();
+            int lastId = boards.get(boards.size() - 1).getId();
+            if (prev) {
+                // 이전 방향으로 더 남아있으면 prevCursor, 커서 이후 데이터는 항상 존재
+                prevCursor = hasMore ? firstId : null;
+                nextCursor = lastId;
+            } else {
+                // 커서가 있다면 앞쪽 페이지가 존재
+                prevCursor = cursor != null ? firstId : null;
+                nextCursor = hasMore ? lastId : null;
+            }
+        }
+
+        Map<String, Object> res = new HashMap<>();
+        res.put("boards", boards);
+        res.put("nextCursor", nextCursor);
+        res.put("prevCursor", prevCursor);
+        res.put("size", limit);
+        return res;
+    }
+
+    @Override
+    public Map<String, Object> getBoardListByPage(int page, int size) {
+        int listCount = boardMapper.getBoardListCount();
+        Pagination pagination = new Pagination(page, listCount, clampSize(size), 10);
+
+        List<BoardSummary> boards = boardMapper.getBoardListByOffset(pagination.getOffset(), pagination.getLimit());
+
+        Map<String, Object> res = new HashMap<>();
+        res.put("boards", boards);
+        res.put("pagination", pagination);
+        return res;
+    }
+
+    @Override
+    public Map<String, Object> searchBoards(String keyword, int page, int size) {
+        int limit = clampSize(size);
+        Map<String, Object> res = new HashMap<>();
+        if (keyword == null || keyword.trim().isEmpty()) {
+            res.put("boards", List.of());
+            res.put("pagination", new Pagination(1, 0, limit, 10));
+            return res;
+        }
+        // 전체 결과 수를 알아야 Pagination 계산이 가능하므로 먼저 페이지 번호를 보정
+        int offset = (Math.max(page, 1) - 1) * limit;
+        NgramIndex.Result result = searchIndex.search(keyword.trim(), offset, limit);
+        Pagination pagination = new Pagination(page, result.total(), limit, 10);
+
+        List<BoardSummary> boards = new ArrayList<>(result.ids().size());
+        for (Integer id : result.ids()) {
+            Board b = boardDetailCache.get(id, boardMapper::getBoardById);
+            if (b != null) {
+                boards.add(BoardSummary.from(b));
+            }
+        }
+        res.put("boards", boards);
+        res.put("pagination", pagination);
+        return res;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public synchronized int rebuildSearchIndex() {
+        synchronized (searchIndexLock) {
+            indexedDuringRebuild = new ArrayList<>();
+        }
+        NgramIndex fresh = newSearchIndex();
+        try {
+            try (Cursor<Board> cursor = boardMapper.exportBoards()) {
+                for (Board b : cursor) {
+                    fresh.put(b.getId(), b.getTitle(), b.getContent());
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("게시물 검색 색인 생성 실패", e);
+            }
+            synchronized (searchIndexLock) {
+                // 커서가 읽은 뒤 바뀐 게시물도 최신 내용으로 덮어쓴 뒤 교체
+                for (Board b : indexedDuringRebuild) {
+                    fresh.put(b.getId(), b.getTitle(), b.getContent());
+                }
+                searchIndex = fresh;
+            }
+        } finally {
+            synchronized (searchIndexLock) {
+                indexedDuringRebuild = null;
+            }
+        }
+        return fresh.size();
+    }
 
-        Board b = boardMapper.getBoardById(id);
+    private void index(Board board) {
+        synchronized (searchIndexLock) {
+            searchIndex.put(board.getId(), board.getTitle(), board.getContent());
+            if (indexedDuringRebuild != null) {
+                indexedDuringRebuild.add(board);
+            }
+        }
+    }
+
+    private static NgramIndex newSearchIndex() {
+        return new NgramIndex(2, 3, 1);
+    }
+
+    private int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /*
+    Cursor 는 세션이 열려있는 동안만 읽을 수 있으므로
+    응답을 모두 쓸 때까지 읽기 전용 트랜잭션을 유지한다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public int exportBoards(OutputStream out) throws IOException {
+        int count = 0;
+        try (Cursor<Board> cursor = boardMapper.exportBoards()) {
+            for (Board b : cursor) {
+                out.write(objectMapper.writeValueAsBytes(b));
+                out.write('\n');
+                count++;
+            }
+        }
+        out.flush();
+        return count;
+    }
+
+    @Override
+    public Board getBoardById(int id) {
+        // 캐시에 없을 때만 DB 조회
+        Board cached = boardDetailCache.get(id, boardMapper::getBoardById);
         // 게시물 상세조회를 위해 id를 입력하고, 입력한 id 에 해당하는 게시물이
         // 존재할 경우에는 조회된 데이터 전달
         // 존재하지 않을 경우에는 null 전달
-        return b != null ? b : null;
+        if (cached == null) {
+            return null;
+        }
+        // 캐시된 객체는 여러 요청이 공유하므로 복사해서 조회수를 덮어쓴다.
+        Board b = copyOf(cached);
+        // 아직 DB 에 반영되지 않은 증가분까지 더해서 보여준다.
+        // (반영이 끝나면 BoardViewCounter 가 캐시를 비우므로 캐시 값 + 대기 증가분 = 실제 조회수)
+        b.setViewCount(b.getViewCount() + (int) boardViewCounter.getPending(id));
+        // 실시간 인기글 순위 갱신
+        popularBoardRanking.record(id, b.getViewCount());
+        return b;
     }
 
 
+    @Override
+    public void recordView(int id) {
+        // 게시물 상세조회를 선택했을 때 해당 게시물의 조회수 증가
+        // DB 에 바로 UPDATE 하지 않고 BoardViewCounter 에 모아서 주기적으로 반영한다.
+        boardViewCounter.increment(id);
+        // 캐시에 있는 게시물만 인기글 순위 갱신 (304 응답을 위해 DB 조회는 하지 않는다.)
+        Board cached = boardDetailCache.getIfPresent(id);
+        if (cached != null) {
+            popularBoardRanking.record(id, cached.getViewCount() + boardViewCounter.getPending(id));
+        }
+    }
+
     @Override
     public void createBoard(Board board) {
+        board.setExcerpt(Utility.excerpt(board.getContent(), EXCERPT_LENGTH));
         boardMapper.insertBoard(board);
+        boardDetailCache.invalidate(board.getId());
+        resourceVersions.bump(ResourceVersions.BOARD_LIST, ResourceVersions.board(board.getId()));
+        index(board);
+    }
+
+    @Override
+    public void updateBoard(Board board) {
+        board.setExcerpt(Utility.excerpt(board.getContent(), EXCERPT_LENGTH));
+        boardMapper.updateBoard(board);
+        boardDetailCache.invalidate(board.getId());
+        resourceVersions.bump(ResourceVersions.BOARD_LIST, ResourceVersions.board(board.getId()));
+        index(board);
+    }
+
+    private Board copyOf(Board b) {
+        return new Board(b.getId(), b.getTitle(), b.getContent(), b.getWriter(), b.getViewCount(),
+                b.getCreatedAt(), b.getUpdatedAt(), b.getRanking(), b.getPopularUpdateAt(), b.getExcerpt());
     }
 }
@@ -0,0 +1,159 @@
+package edu.thejoeun.board.model.service;
+
+import edu.thejoeun.board.model.mapper.BoardMapper;
+import edu.thejoeun.common.util.ResourceVersions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게시물 조회수 write-behind 카운터
+ *
+ * 상세 조회마다 UPDATE board SET view_count = view_count + 1 을 실행하면
+ * 인기 게시물의 같은 행(row lock)에 요청이 몰려 줄을 서게 되고, 모든 조회가 쓰기 작업이 된다.
+ *
+ * 조회 시에는 메모리(LongAdder)에만 +1 하고,
+ * 일정 주기(board.view-count.flush-interval-ms)마다 모인 증가분을 한 번의 UPDATE 로 DB 에 반영한다.
+ * 서버 종료 시에도 남은 증가분을 DB 에 반영한다.
+ *
+ * 상세 캐시(BoardDetailCache)의 조회수는 캐시에 넣은 시점의 DB 값이므로
+ * 화면에는 캐시 값 + getPending() 을 보여주고, 증가분을 DB 에 반영한 뒤에는 해당 게시물을 캐시에서 제거한다.
+ * (반영 중인 증가분도 getPending() 에 포함되므로 반영 전후로 조회수가 줄어 보이지 않는다.)
+ * 목록 응답의 조회수도 바뀌므로 반영할 때마다 목록 버전(ResourceVersions.BOARD_LIST)을 증가시킨다.
+ */
+@Slf4j
+@Component
+public class BoardViewCounter {
+
+    // Oracle IN 절 최대 1000 개 제한
+    private static final int FLUSH_CHUNK_SIZE = 1000;
+
+    private final BoardMapper boardMapper;
+    private final BoardDetailCache boardDetailCache;
+    private final ResourceVersions resourceVersions;
+    private final ConcurrentHashMap<Integer, LongAdder> pending = new ConcurrentHashMap<>();
+    // pending 에서 꺼내 DB 에 반영 중인 증가분 (반영 후 캐시를 비울 때까지 유지)
+    private final ConcurrentHashMap<Integer, Long> inFlight = new ConcurrentHashMap<>();
+    private final Counter flushedCounter;
+
+    public BoardViewCounter(BoardMapper boardMapper, BoardDetailCache boardDetailCache,
+                            ResourceVersions resourceVersions, MeterRegistry meterRegistry) {
+        this.boardMapper = boardMapper;
+        this.boardDetailCache = boardDetailCache;
+        this.resourceVersions = resourceVersions;
+        this.flushedCounter = Counter.builder("board.view-count.flushed")
+                .description("DB 에 반영된 조회수 증가분")
+                .register(meterRegistry);
+        Gauge.builder("board.view-count.pending", this, BoardViewCounter::getPendingTotal)
+                .description("아직 DB 에 반영되지 않은 조회수 증가분")
+                .register(meterRegistry);
+        Gauge.builder("board.view-count.pending.boards", pending, Map::size)
+                .description("반영 대기 중인 게시물 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 조회수 1 증가 (메모리에만 반영)
+     * @param boardId 게시물 id
+     */
+    public void increment(int boardId) {
+        LongAdder adder = pending.computeIfAbsent(boardId, k -> new LongAdder());
+        adder.increment();
+        // flush 가 빈 카운터로 보고 맵에서 제거한 뒤였다면, 남은 값을 새 카운터로 옮긴다.
+        // (sumThenReset 은 셀마다 getAndSet(0) 이므로 flush 와 동시에 실행돼도 한 번만 옮겨진다.)
+        if (pending.get(boardId) != adder) {
+            long left = adder.sumThenReset();
+            if (left > 0) {
+                pending.computeIfAbsent(boardId, k -> new LongAdder()).add(left);
+            }
+        }
+    }
+
+    /**
+     * 아직 DB 에 반영되지 않은 조회수 증가분 (반영 중인 증가분 포함)
+     * 상세 조회 결과(캐시)에 더해서 실제 조회수를 보여줄 때 사용
+     * @param boardId 게시물 id
+     * @return 대기 중인 증가분
+     */
+    public long getPending(int boardId) {
+        LongAdder adder = pending.get(boardId);
+        return (adder != null ? adder.sum() : 0) + inFlight.getOrDefault(boardId, 0L);
+    }
+
+    public long getPendingTotal() {
+        long total = 0;
+        for (LongAdder adder : pending.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    /**
+     * 모인 증가분을 DB 에 반영
+     * sumThenReset 은 셀 단위로 값을 꺼내고 0 으로 바꾸므로, 반영 중 들어온 증가분은 다음 주기로 넘어간다.
+     * 한 주기 동안 조회가 없었던 게시물은 맵에서 제거하고, 제거 직전에 들어온 증가분은 이번에 함께 반영한다.
+     * (제거 후 increment 한 증가분은 increment 가 새 카운터로 옮긴다.)
+     */
+    @Scheduled(fixedDelayString = "${board.view-count.flush-interval-ms:3000}")
+    public void flush() {
+        Map<Integer, Long> deltas = new HashMap<>();
+        for (Map.Entry<Integer, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                take(deltas, entry.getKey(), delta);
+            } else if (pending.remove(entry.getKey(), entry.getValue())) {
+                long left = entry.getValue().sumThenReset();
+                if (left > 0) {
+                    take(deltas, entry.getKey(), left);
+                }
+            }
+            if (deltas.size() >= FLUSH_CHUNK_SIZE) {
+                write(deltas);
+                deltas = new HashMap<>();
+            }
+        }
+        if (!deltas.isEmpty()) {
+            write(deltas);
+        }
+    }
+
+    // pending 에서 꺼낸 증가분을 반영 목록에 넣고, 반영이 끝날 때까지 getPending() 에 포함시킨다.
+    private void take(Map<Integer, Long> deltas, int boardId, long delta) {
+        inFlight.merge(boardId, delta, Long::sum);
+        deltas.put(boardId, delta);
+    }
+
+    private void write(Map<Integer, Long> deltas) {
+        try {
+            boardMapper.updateViewCounts(deltas);
+            // 캐시에 남은 게시물은 반영 전 조회수를 가지고 있으므로 제거 (다음 조회 시 DB 에서 다시 읽음)
+            // 반영 전에 읽어 캐시에 넣는 중인 게시물도 invalidate 가 적재를 기다렸다가 제거한다.
+            deltas.keySet().forEach(boardDetailCache::invalidate);
+            resourceVersions.bump(ResourceVersions.BOARD_LIST);
+            long sum = deltas.values().stream().mapToLong(Long::longValue).sum();
+            flushedCounter.increment(sum);
+            log.debug("조회수 반영 완료 : {} 건, 증가분 {}", deltas.size(), sum);
+        } catch (Exception e) {
+            // DB 반영 실패 시 증가분을 되돌려 다음 주기에 다시 시도
+            log.error("조회수 반영 중 오류 발생 : ", e);
+            deltas.forEach((id, delta) -> pending.computeIfAbsent(id, k -> new LongAdder()).add(delta));
+        } finally {
+            deltas.forEach((id, delta) -> inFlight.computeIfPresent(id, (k, v) -> v == delta ? null : v - delta));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("서버 종료 - 남은 조회수 증가분 반영 : {}", getPendingTotal());
+        flush();
+    }
+}
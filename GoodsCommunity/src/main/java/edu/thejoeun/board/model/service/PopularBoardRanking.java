@@ -0,0 +1,172 @@
+package edu.thejoeun.board.model.service;
+
+import edu.thejoeun.board.model.dto.BoardSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실시간 인기글 순위 (조회수 기준 top-N)
+ *
+ * 게시물 상세 조회가 일어날 때마다 해당 게시물의 현재 조회수를 전달받아
+ * 조회수 내림차순으로 정렬된 ConcurrentSkipListSet 을 갱신한다. (갱신 1건당 O(log N))
+ *
+ * 상세 조회마다 호출되므로 전체 잠금을 쓰지 않는다.
+ * 같은 게시물의 갱신만 ConcurrentHashMap.compute 로 순서대로 처리하고, 다른 게시물은 동시에 갱신된다.
+ * load() 는 새 순위를 따로 만든 뒤 참조만 교체하므로, 조회하는 쪽은 항상 완성된 순위를 본다.
+ *
+ * 조회수는 증가만 하므로 상위 capacity 개만 보관해도 top-N 은 정확하다.
+ * 밀려난 게시물도 다음 조회 때 현재 조회수로 다시 들어온다.
+ */
+@Component
+public class PopularBoardRanking {
+
+    // 조회수 내림차순, 조회수가 같으면 최신 게시물(id 큰 순) 우선
+    private static final Comparator<Entry> ORDER =
+            Comparator.comparingLong(Entry::viewCount).reversed()
+                    .thenComparing(Comparator.comparingInt(Entry::boardId).reversed());
+
+    private final int capacity;
+    private volatile Ranking current = new Ranking();
+    // 순위가 바뀔 때마다 증가, checkpoint 필요 여부 판단용
+    private final AtomicLong version = new AtomicLong();
+
+    public PopularBoardRanking(@Value("${board.popular.capacity:1000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 게시물의 현재 조회수 반영
+     * @param boardId   게시물 id
+     * @param viewCount 현재 조회수 (DB 값 + 반영 대기 증가분)
+     */
+    public void record(int boardId, long viewCount) {
+        Ranking r = current;
+        r.record(boardId, viewCount);
+        // 반영하는 사이 load() 가 새 순위로 교체했다면 새 순위에도 반영
+        Ranking now = current;
+        if (now != r) {
+            now.record(boardId, viewCount);
+        }
+    }
+
+    /**
+     * 상위 n 개 게시물 (1위부터)
+     * @param n 조회할 개수
+     * @return board id, 조회수, 순위만 채워진 BoardSummary 목록
+     */
+    public List<BoardSummary> top(int n) {
+        return current.top(n);
+    }
+
+    /**
+     * 저장된 인기글 목록(popular_board)으로 초기화
+     * 서버 재시작 시 처음부터 다시 집계하지 않도록 사용
+     * @param boards 인기글 목록 (id, viewCount)
+     */
+    public synchronized void load(List<BoardSummary> boards) {
+        Ranking r = new Ranking();
+        for (BoardSummary b : boards) {
+            r.record(b.getId(), b.getViewCount());
+        }
+        current = r;
+        version.incrementAndGet();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public boolean isEmpty() {
+        return current.ranking.isEmpty();
+    }
+
+    /**
+     * 한 벌의 순위 (게시물 id -> 항목, 조회수순 정렬)
+     */
+    private final class Ranking {
+
+        private final ConcurrentHashMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(ORDER);
+
+        void record(int boardId, long viewCount) {
+            Entry old = entries.get(boardId);
+            if (old != null && old.viewCount() >= viewCount) {
+                return;
+            }
+            Entry entry = new Entry(boardId, viewCount);
+            if (old == null && entries.size() >= capacity) {
+                // 가득 찬 상태에서 꼴찌보다 낮으면 순위에 들 수 없다.
+                Entry last = lastOrNull();
+                if (last != null && ORDER.compare(entry, last) >= 0) {
+                    return;
+                }
+            }
+            entries.compute(boardId, (id, existing) -> {
+                if (existing != null && existing.viewCount() >= viewCount) {
+                    return existing;
+                }
+                // 새 값을 먼저 넣고 이전 값을 지운다. (top() 이 그 사이에 읽어도 게시물이 빠지지 않도록)
+                ranking.add(entry);
+                if (existing != null) {
+                    ranking.remove(existing);
+                }
+                version.incrementAndGet();
+                return entry;
+            });
+            trim();
+        }
+
+        List<BoardSummary> top(int n) {
+            List<BoardSummary> result = new ArrayList<>(n);
+            // 갱신 중인 게시물은 이전 값과 새 값이 함께 보일 수 있으므로 먼저 나온(높은) 값만 사용
+            Set<Integer> seen = new HashSet<>();
+            Iterator<Entry> it = ranking.iterator();
+            int rank = 1;
+            while (it.hasNext() && rank <= n) {
+                Entry e = it.next();
+                if (!seen.add(e.boardId())) {
+                    continue;
+                }
+                BoardSummary b = new BoardSummary();
+                b.setId(e.boardId());
+                b.setViewCount((int) e.viewCount());
+                b.setRanking(rank++);
+                result.add(b);
+            }
+            return result;
+        }
+
+        // capacity 를 넘으면 꼴찌부터 제거 (그 사이 다시 갱신된 게시물은 새 값이 남는다.)
+        private void trim() {
+            while (entries.size() > capacity) {
+                Entry last = ranking.pollLast();
+                if (last == null) {
+                    return;
+                }
+                entries.remove(last.boardId(), last);
+            }
+        }
+
+        private Entry lastOrNull() {
+            try {
+                return ranking.last();
+            } catch (NoSuchElementException e) {
+                return null;
+            }
+        }
+    }
+
+    private record Entry(int boardId, long viewCount) {
+    }
+}
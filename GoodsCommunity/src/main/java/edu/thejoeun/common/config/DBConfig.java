@@ -13,6 +13,7 @@ import org.springframework.context.annotation.PropertySource;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 
 import javax.sql.DataSource;
+import java.util.Properties;
 
 @Configuration
 @PropertySource("classpath:/config.properties")
@@ -29,6 +30,8 @@ public class DBConfig {
     private String password;
     @Value("${spring.datasource.driver-class-name}")
     private String driverClassName;
+    @Value("${board.export.fetch-size:500}")
+    private int boardExportFetchSize;
 
     @Bean
     public HikariConfig hikariConfig() {
@@ -50,6 +53,11 @@ public class DBConfig {
         );
         sqlSessionFactoryBean.setTypeAliasesPackage("edu.thejoeun");
 
+        // mapper.xml 에서 ${키} 로 사용할 값 (ex. fetchSize="${board.export.fetch-size}")
+        Properties configurationProperties = new Properties();
+        configurationProperties.setProperty("board.export.fetch-size", String.valueOf(boardExportFetchSize));
+        sqlSessionFactoryBean.setConfigurationProperties(configurationProperties);
+
 
         sqlSessionFactoryBean.setConfigLocation(
                 applicationContext.getResource("classpath:/mybatis-config.xml")
@@ -0,0 +1,52 @@
+package edu.thejoeun.common.config;
+
+import edu.thejoeun.common.session.JdbcSessionRepository;
+import edu.thejoeun.common.session.SessionMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.session.web.http.CookieHttpSessionIdResolver;
+import org.springframework.session.web.http.CookieSerializer;
+import org.springframework.session.web.http.DefaultCookieSerializer;
+import org.springframework.session.web.http.SessionRepositoryFilter;
+
+import java.time.Duration;
+
+/**
+ * 세션 저장소 선택 (config.properties 의 session.store)
+ *
+ * memory (기본값) : 서버(Tomcat) 메모리에 세션 보관, 아래 빈을 만들지 않는다.
+ * jdbc            : DB(app_session 테이블)에 세션 보관, 여러 서버가 세션 공유
+ *
+ * 다른 저장소(ex. Redis)를 사용하려면 SessionRepository 구현체를 빈으로 등록하고
+ * 같은 방식으로 springSessionRepositoryFilter 를 만들면 된다.
+ * (springSessionRepositoryFilter 빈이 있으면 스프링부트가 필터 순서를 맞춰 등록한다.)
+ */
+@Configuration
+@PropertySource("classpath:/config.properties")
+public class SessionConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "session.store", havingValue = "jdbc")
+    public JdbcSessionRepository jdbcSessionRepository(SessionMapper sessionMapper,
+                                                       MeterRegistry meterRegistry,
+                                                       @Value("${session.timeout-seconds:1800}") long timeoutSeconds,
+                                                       @Value("${session.jdbc.flush-interval-ms:10000}") long flushIntervalMs) {
+        return new JdbcSessionRepository(sessionMapper, meterRegistry, Duration.ofSeconds(timeoutSeconds), flushIntervalMs);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "session.store", havingValue = "jdbc")
+    public SessionRepositoryFilter<JdbcSessionRepository.JdbcSession> springSessionRepositoryFilter(
+            JdbcSessionRepository jdbcSessionRepository, ObjectProvider<CookieSerializer> cookieSerializer) {
+        SessionRepositoryFilter<JdbcSessionRepository.JdbcSession> filter = new SessionRepositoryFilter<>(jdbcSessionRepository);
+        CookieHttpSessionIdResolver resolver = new CookieHttpSessionIdResolver();
+        resolver.setCookieSerializer(cookieSerializer.getIfAvailable(DefaultCookieSerializer::new));
+        filter.setHttpSessionIdResolver(resolver);
+        return filter;
+    }
+}
@@ -1,11 +1,17 @@
 package edu.thejoeun.common.config;
 
+import edu.thejoeun.common.util.ImageFileHandler;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /*
 BackEnd 와 FrontEnd 가 나누어 작업할 때 사용
@@ -17,9 +23,11 @@ WebConfig 이름을 사용하거나 CorsConfig 라는 명칭을 사용하기도
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
-    // profile.upload.path
-    @Value("${file.upload.path}")
-    private String fileUploadPath;
+    @Value("${file.upload.profile-path}")
+    private String profileUploadPath;
+
+    @Value("${file.upload.product-path}")
+    private String productUploadPath;
 
     @Bean
     public WebMvcConfigurer corsConfigurer() {
@@ -43,19 +51,22 @@ public class WebConfig implements WebMvcConfigurer {
     }
 
 
-    // 프로필 이미지 정적 리소스 매핑 추가
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // profile_images/** 로 요청이 오면 실제 파일 시스템 경로에서 이미지 가져오기
-        // 폴더별로 registry 설정하며, registry는 다수가 될 수 있다.
-        registry.addResourceHandler("/profile_images/**")
-                .addResourceLocations("file:"+fileUploadPath+"/");
-        // 게시물 이미지 폴더 수정
-        // registry.addResourceHandler("/profile_images/**")
-        //        .addResourceLocations("file:"+fileUploadPath+"/");
-        // 상품 이미지 폴더 수정
-        // registry.addResourceHandler("/profile_images/**")
-        //        .addResourceLocations("file:"+fileUploadPath+"/");
+    /*
+    업로드 이미지 매핑
+    profile_images/**, product_images/** 로 요청이 오면 실제 파일 시스템 경로에서 이미지 가져오기
+    addResourceHandlers 대신 전용 처리기(ImageFileHandler)를 사용한다.
+    - 파일명이 UUID 이므로 1년 immutable 캐시 헤더
+    - Range(206), If-None-Match / If-Modified-Since(304) 처리
+    - 본문은 Tomcat sendfile 로 전송하여 요청 스레드가 파일 복사를 하지 않는다.
+    폴더가 추가되면(ex. 게시물 이미지) urlMap 에 추가한다.
+     */
+    @Bean
+    public SimpleUrlHandlerMapping uploadImageHandlerMapping() {
+        Map<String, Object> urlMap = new LinkedHashMap<>();
+        urlMap.put("/profile_images/**", new ImageFileHandler(Paths.get(profileUploadPath)));
+        urlMap.put("/product_images/**", new ImageFileHandler(Paths.get(productUploadPath)));
+        // 정적 리소스 매핑(/**)보다 먼저 확인
+        return new SimpleUrlHandlerMapping(urlMap, Ordered.HIGHEST_PRECEDENCE);
     }
 }
 
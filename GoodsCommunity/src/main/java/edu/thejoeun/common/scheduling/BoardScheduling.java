@@ -1,9 +1,12 @@
 package edu.thejoeun.common.scheduling;
 
 
+import edu.thejoeun.board.model.service.BoardService;
 import edu.thejoeun.common.scheduling.Service.SchedulingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -15,6 +18,7 @@ import java.time.format.DateTimeFormatter;
 @RequiredArgsConstructor
 public class BoardScheduling {
     private final SchedulingService schedulingService;
+    private final BoardService boardService;
     @Scheduled(cron = "0 0 0 1 * *")
     public void updatePopularBoards(){
         String startTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
@@ -28,6 +32,43 @@ public class BoardScheduling {
         String endTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
         log.info("==== 인기글 업데이트 스케줄러 종료 [{}] ====", endTime);
     }
+
+    /**
+     * 실시간 인기글 순위를 주기적으로 popular_board 에 저장
+     * 서버가 재시작되어도 저장된 순위부터 이어서 집계한다.
+     */
+    @Scheduled(fixedDelayString = "${board.popular.checkpoint-interval-ms:300000}")
+    public void checkpointPopularBoards(){
+        try {
+            int result = schedulingService.checkpointPopularBoards();
+            if(result > 0) {
+                log.info("실시간 인기글 저장 완료 : {} 건", result);
+            }
+        }catch (Exception e){
+            log.error("실시간 인기글 저장 중 오류 발생 : ", e);
+        }
+    }
+
+    // 서버 시작 시 저장된 인기글로 실시간 순위 초기화
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPopularBoards(){
+        try {
+            schedulingService.loadPopularBoards();
+        }catch (Exception e){
+            log.error("실시간 인기글 초기화 중 오류 발생 : ", e);
+        }
+    }
+
+    // 서버 시작 시 게시물 검색 색인 생성
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildBoardSearchIndex(){
+        try {
+            int result = boardService.rebuildSearchIndex();
+            log.info("게시물 검색 색인 생성 완료 : {} 건", result);
+        }catch (Exception e){
+            log.error("게시물 검색 색인 생성 중 오류 발생 : ", e);
+        }
+    }
 }
 
 
@@ -1,8 +1,9 @@
 package edu.thejoeun.common.scheduling.Mapper;
 
 
-import edu.thejoeun.board.model.dto.Board;
+import edu.thejoeun.board.model.dto.BoardSummary;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
 
@@ -31,5 +32,12 @@ public interface SchedulingMapper {
     /*
     인기글 목록 조회
      */
-    List<Board> selectPopularBoards();
+    List<BoardSummary> selectPopularBoards();
+
+    /*
+    실시간 인기글 순위를 인기글 테이블에 저장 (checkpoint)
+    boards 의 id, ranking 을 한 번의 INSERT 로 저장한다.
+     @return 등록된 게시글 수
+     */
+    int insertPopularBoardList(@Param("boards") List<BoardSummary> boards);
 }
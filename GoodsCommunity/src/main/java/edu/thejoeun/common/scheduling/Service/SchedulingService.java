@@ -1,6 +1,6 @@
 package edu.thejoeun.common.scheduling.Service;
 
-import edu.thejoeun.board.model.dto.Board;
+import edu.thejoeun.board.model.dto.BoardSummary;
 
 import java.util.List;
 
@@ -15,5 +15,16 @@ public interface SchedulingService {
      * 인기글 목록 조회
      * @return 인기글 목록 반환
      */
-    List<Board> getPopularBoards();
+    List<BoardSummary> getPopularBoards();
+
+    /**
+     * 실시간 인기글 순위를 인기글 테이블에 저장
+     * @return 저장된 게시글 수 (순위 변동이 없으면 0)
+     */
+    int checkpointPopularBoards();
+
+    /**
+     * 인기글 테이블에 저장된 순위로 실시간 순위 초기화
+     */
+    void loadPopularBoards();
 }
@@ -2,19 +2,41 @@ package edu.thejoeun.common.scheduling.Service;
 
 
 import edu.thejoeun.board.model.dto.Board;
+import edu.thejoeun.board.model.dto.BoardSummary;
+import edu.thejoeun.board.model.mapper.BoardMapper;
+import edu.thejoeun.board.model.service.BoardDetailCache;
+import edu.thejoeun.board.model.service.PopularBoardRanking;
 import edu.thejoeun.common.scheduling.Mapper.SchedulingMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class SchedulingServiceImpl implements SchedulingService {
 
+    // 인기글 개수
+    private static final int POPULAR_SIZE = 10;
+
     private final SchedulingMapper schedulingMapper;
+    private final BoardMapper boardMapper;
+    private final BoardDetailCache boardDetailCache;
+    private final PopularBoardRanking popularBoardRanking;
+
+    // 마지막으로 저장한 순위 버전 (서버 시작 스레드와 스케줄러 스레드에서 함께 사용)
+    private volatile long checkpointVersion = -1;
 
+    /*
+    DELETE 와 INSERT 를 하나의 트랜잭션으로 묶어
+    두 문장 사이에 인기글 목록이 비어 보이지 않도록 한다.
+     */
     @Override
+    @Transactional
     public int updatePopularBoards() {
         // 지난 인기글 내역들을 삭제하지 않고, 보존하고 싶다면
         // 보존하기~ 삭제 메서드 주석처리
@@ -22,11 +44,58 @@ public class SchedulingServiceImpl implements SchedulingService {
         schedulingMapper.deleteAllPopularBoards();
 
         // 2. 조회수 기준 상위 10개 게시글을 인기글로 등록
-        return schedulingMapper.insertPopularBoards();
+        int result = schedulingMapper.insertPopularBoards();
+
+        // 3. 실시간 순위도 DB 기준으로 다시 맞춘다.
+        popularBoardRanking.load(schedulingMapper.selectPopularBoards());
+        return result;
+    }
+
+    /*
+    실시간 순위가 있으면 메모리에서 바로 반환하고,
+    서버 시작 직후처럼 순위가 비어있을 때만 DB 에서 조회한다.
+     */
+    @Override
+    public List<BoardSummary> getPopularBoards() {
+        if (popularBoardRanking.isEmpty()) {
+            return schedulingMapper.selectPopularBoards();
+        }
+        List<BoardSummary> result = new ArrayList<>();
+        for (BoardSummary top : popularBoardRanking.top(POPULAR_SIZE)) {
+            Board b = boardDetailCache.get(top.getId(), boardMapper::getBoardById);
+            if (b == null) {
+                continue;
+            }
+            BoardSummary summary = BoardSummary.from(b);
+            summary.setViewCount(top.getViewCount());
+            summary.setRanking(top.getRanking());
+            result.add(summary);
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public int checkpointPopularBoards() {
+        long version = popularBoardRanking.getVersion();
+        if (version == checkpointVersion) {
+            return 0;
+        }
+        List<BoardSummary> top = popularBoardRanking.top(POPULAR_SIZE);
+        if (top.isEmpty()) {
+            return 0;
+        }
+        schedulingMapper.deleteAllPopularBoards();
+        int result = schedulingMapper.insertPopularBoardList(top);
+        checkpointVersion = version;
+        return result;
     }
 
     @Override
-    public List<Board> getPopularBoards() {
-        return schedulingMapper.selectPopularBoards();
+    public void loadPopularBoards() {
+        List<BoardSummary> boards = schedulingMapper.selectPopularBoards();
+        popularBoardRanking.load(boards);
+        checkpointVersion = popularBoardRanking.getVersion();
+        log.info("실시간 인기글 순위 초기화 : {} 건", boards.size());
     }
 }
@@ -0,0 +1,302 @@
+package edu.thejoeun.common.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DB 세션 저장소 (session.store=jdbc, app_session 테이블)
+ *
+ * 세션을 서버 메모리가 아닌 DB 에 보관해서 여러 서버가 같은 세션을 사용할 수 있게 한다.
+ * (로드밸런서가 요청을 어느 서버로 보내도 로그인 상태 유지)
+ *
+ * 요청마다 바뀌는 것은 대부분 마지막 접근 시각뿐이므로
+ * - 속성(setAttribute / removeAttribute) 이나 유효 시간이 바뀐 경우 : 요청이 끝날 때 바로 UPDATE
+ * - 마지막 접근 시각만 바뀐 경우 : 메모리에 모았다가 flush-interval 마다 한 번의 UPDATE 로 반영
+ * 만료 판단은 아직 반영하지 않은 접근 시각까지 고려하고, 다른 서버에 쌓여 있을 수 있는 접근 시각을 위해
+ * flush-interval 만큼 여유를 둔다. (만료 시각 오차 = flush-interval 이내)
+ *
+ * 속성은 Map 전체를 Java 직렬화해서 저장하므로 세션에 넣는 값은 Serializable 이어야 하고,
+ * 꺼낸 객체를 직접 수정하면 저장되지 않는다. (LoginUser 처럼 변경 불가 객체를 setAttribute 로 교체)
+ */
+@Slf4j
+public class JdbcSessionRepository implements SessionRepository<JdbcSessionRepository.JdbcSession> {
+
+    // Oracle IN 절 최대 1000 개 제한
+    private static final int FLUSH_CHUNK_SIZE = 1000;
+
+    private final SessionMapper sessionMapper;
+    private final Duration defaultMaxInactiveInterval;
+    private final long flushIntervalMs;
+    private final SerializingConverter serializer = new SerializingConverter();
+    private final DeserializingConverter deserializer = new DeserializingConverter(getClass().getClassLoader());
+
+    // 반영 대기 : 세션 id -> 마지막 접근 시각 (epoch ms)
+    private final ConcurrentHashMap<String, Long> pendingAccess = new ConcurrentHashMap<>();
+
+    private final Counter writeCounter;
+    private final Counter accessFlushedCounter;
+    private final Counter expiredCounter;
+
+    public JdbcSessionRepository(SessionMapper sessionMapper, MeterRegistry meterRegistry,
+                                 Duration defaultMaxInactiveInterval, long flushIntervalMs) {
+        this.sessionMapper = sessionMapper;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.flushIntervalMs = flushIntervalMs;
+
+        this.writeCounter = Counter.builder("session.jdbc.writes")
+                .description("요청 종료 시 바로 저장한 세션 수 (생성, 속성 변경)").register(meterRegistry);
+        this.accessFlushedCounter = Counter.builder("session.jdbc.access.flushed")
+                .description("일괄 반영한 마지막 접근 시각 수").register(meterRegistry);
+        this.expiredCounter = Counter.builder("session.jdbc.expired")
+                .description("만료되어 삭제된 세션 수").register(meterRegistry);
+        Gauge.builder("session.jdbc.access.pending", pendingAccess, Map::size)
+                .description("반영 대기 중인 마지막 접근 시각 수").register(meterRegistry);
+    }
+
+    @Override
+    public JdbcSession createSession() {
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(defaultMaxInactiveInterval);
+        return new JdbcSession(session, true);
+    }
+
+    @Override
+    public void save(JdbcSession session) {
+        if (session.isNew) {
+            sessionMapper.insertSession(toRow(session.delegate));
+            writeCounter.increment();
+        } else {
+            if (!session.originalId.equals(session.getId())) {
+                sessionMapper.changeSessionId(session.originalId, session.getId());
+                pendingAccess.remove(session.originalId);
+            }
+            if (session.changed) {
+                sessionMapper.updateSession(toRow(session.delegate));
+                pendingAccess.remove(session.getId());
+                writeCounter.increment();
+            } else if (session.accessed) {
+                pendingAccess.merge(session.getId(), session.getLastAccessedTime().toEpochMilli(), Math::max);
+            }
+        }
+        session.saved();
+    }
+
+    @Override
+    public JdbcSession findById(String id) {
+        SessionRow row = sessionMapper.getSession(id);
+        if (row == null) {
+            return null;
+        }
+        long lastAccess = Math.max(row.getLastAccessTime(), pendingAccess.getOrDefault(id, 0L));
+        if (lastAccess + row.getMaxInactiveSeconds() * 1000L + flushIntervalMs < System.currentTimeMillis()) {
+            deleteById(id);
+            expiredCounter.increment();
+            return null;
+        }
+        MapSession session = new MapSession(id);
+        session.setCreationTime(Instant.ofEpochMilli(row.getCreationTime()));
+        session.setLastAccessedTime(Instant.ofEpochMilli(lastAccess));
+        session.setMaxInactiveInterval(Duration.ofSeconds(row.getMaxInactiveSeconds()));
+        try {
+            deserialize(row.getAttributes()).forEach(session::setAttribute);
+        } catch (Exception e) {
+            // 배포 후 클래스가 바뀌어 읽을 수 없는 세션은 버린다. (다시 로그인)
+            log.warn("세션 속성을 읽을 수 없어 삭제합니다. id : {}, 사유 : {}", id, e.getMessage());
+            deleteById(id);
+            return null;
+        }
+        return new JdbcSession(session, false);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        pendingAccess.remove(id);
+        sessionMapper.deleteSession(id);
+    }
+
+    /**
+     * 모인 마지막 접근 시각을 DB 에 반영
+     * 꺼낸 값과 같을 때만 맵에서 제거하므로, 반영 중 들어온 접근 시각은 다음 주기로 넘어간다.
+     */
+    @Scheduled(fixedDelayString = "${session.jdbc.flush-interval-ms:10000}")
+    public void flush() {
+        Map<String, Long> accesses = new HashMap<>();
+        for (Map.Entry<String, Long> entry : pendingAccess.entrySet()) {
+            if (pendingAccess.remove(entry.getKey(), entry.getValue())) {
+                accesses.put(entry.getKey(), entry.getValue());
+            }
+            if (accesses.size() >= FLUSH_CHUNK_SIZE) {
+                write(accesses);
+                accesses = new HashMap<>();
+            }
+        }
+        if (!accesses.isEmpty()) {
+            write(accesses);
+        }
+    }
+
+    /**
+     * 만료된 세션 삭제
+     * 다른 서버에서 아직 반영하지 않은 접근 시각이 있을 수 있으므로 flush-interval 만큼 여유를 둔다.
+     */
+    @Scheduled(fixedDelayString = "${session.jdbc.cleanup-interval-ms:60000}")
+    public void cleanUpExpiredSessions() {
+        flush();
+        try {
+            int deleted = sessionMapper.deleteExpiredSessions(System.currentTimeMillis() - flushIntervalMs);
+            expiredCounter.increment(deleted);
+            if (deleted > 0) {
+                log.debug("만료 세션 삭제 : {} 건", deleted);
+            }
+        } catch (Exception e) {
+            log.error("만료 세션 삭제 중 오류 발생 : ", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("서버 종료 - 남은 세션 접근 시각 반영 : {}", pendingAccess.size());
+        flush();
+    }
+
+    private void write(Map<String, Long> accesses) {
+        try {
+            sessionMapper.updateLastAccessTimes(accesses);
+            accessFlushedCounter.increment(accesses.size());
+        } catch (Exception e) {
+            // DB 반영 실패 시 되돌려 다음 주기에 다시 시도 (그 사이 더 늦은 접근이 있으면 그 값 유지)
+            log.error("세션 접근 시각 반영 중 오류 발생 : ", e);
+            accesses.forEach((id, time) -> pendingAccess.merge(id, time, Math::max));
+        }
+    }
+
+    private SessionRow toRow(MapSession session) {
+        Map<String, Object> attributes = new HashMap<>();
+        for (String name : session.getAttributeNames()) {
+            attributes.put(name, session.getAttribute(name));
+        }
+        long lastAccess = session.getLastAccessedTime().toEpochMilli();
+        int maxInactiveSeconds = (int) session.getMaxInactiveInterval().getSeconds();
+        return new SessionRow(session.getId(), session.getCreationTime().toEpochMilli(), lastAccess,
+                maxInactiveSeconds, lastAccess + maxInactiveSeconds * 1000L, serializer.convert(attributes));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> deserialize(byte[] attributes) {
+        if (attributes == null || attributes.length == 0) {
+            return Map.of();
+        }
+        return (Map<String, Object>) deserializer.convert(attributes);
+    }
+
+    /**
+     * 변경 여부를 기록하는 세션
+     * changed  : 속성 또는 유효 시간 변경 -> 요청 종료 시 바로 저장
+     * accessed : 마지막 접근 시각만 변경 -> 일괄 반영
+     */
+    public static final class JdbcSession implements Session {
+
+        private final MapSession delegate;
+        private boolean isNew;
+        private String originalId;
+        private boolean changed;
+        private boolean accessed;
+
+        JdbcSession(MapSession delegate, boolean isNew) {
+            this.delegate = delegate;
+            this.isNew = isNew;
+            this.originalId = delegate.getId();
+        }
+
+        void saved() {
+            isNew = false;
+            originalId = delegate.getId();
+            changed = false;
+            accessed = false;
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            return delegate.changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return delegate.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return delegate.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            delegate.setAttribute(attributeName, attributeValue);
+            changed = true;
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            if (delegate.getAttribute(attributeName) != null) {
+                delegate.removeAttribute(attributeName);
+                changed = true;
+            }
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return delegate.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            delegate.setLastAccessedTime(lastAccessedTime);
+            accessed = true;
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            if (!interval.equals(delegate.getMaxInactiveInterval())) {
+                delegate.setMaxInactiveInterval(interval);
+                changed = true;
+            }
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return delegate.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return delegate.isExpired();
+        }
+    }
+}
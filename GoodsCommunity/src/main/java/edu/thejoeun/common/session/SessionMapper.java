@@ -0,0 +1,36 @@
+package edu.thejoeun.common.session;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Map;
+
+/**
+ * DB 세션 저장소(session.store=jdbc) 용 mapper
+ */
+@Mapper
+public interface SessionMapper {
+
+    SessionRow getSession(String sessionId);
+
+    void insertSession(SessionRow row);
+
+    // 속성 / 유효 시간 / 마지막 접근 시각 모두 변경
+    int updateSession(SessionRow row);
+
+    // 세션 id 변경 (로그인 시 세션 고정 공격 방지 등)
+    int changeSessionId(@Param("oldSessionId") String oldSessionId,
+                        @Param("newSessionId") String newSessionId);
+
+    /**
+     * 마지막 접근 시각 / 만료 시각 일괄 변경
+     * @param accesses 세션 id : 마지막 접근 시각 (최대 1000 개)
+     * @return 수정된 행 수
+     */
+    int updateLastAccessTimes(@Param("accesses") Map<String, Long> accesses);
+
+    int deleteSession(String sessionId);
+
+    // expiryTime 이전에 만료된 세션 삭제
+    int deleteExpiredSessions(long expiryTime);
+}
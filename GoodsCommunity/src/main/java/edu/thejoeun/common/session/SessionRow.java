@@ -0,0 +1,22 @@
+package edu.thejoeun.common.session;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * app_session 테이블 1행
+ * 시각은 모두 epoch ms, attributes 는 세션 속성 Map 을 직렬화한 값
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SessionRow {
+
+    private String sessionId;
+    private long creationTime;
+    private long lastAccessTime;
+    private int maxInactiveSeconds;
+    private long expiryTime;
+    private byte[] attributes;
+}
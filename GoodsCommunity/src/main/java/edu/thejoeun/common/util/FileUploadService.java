@@ -29,7 +29,17 @@ public class FileUploadService {
     private String productPath;
 
     /**
-     * 프로필 이미지 업로드
+     * 상품 이미지 웹 경로 -> 실제 파일 경로
+     * @param imageUrl /product_images/파일명
+     * @return 상품 이미지 폴더 안의 파일 경로
+     */
+    public Path getProductImagePath(String imageUrl) {
+        String fileName = imageUrl.substring(imageUrl.lastIndexOf('/') + 1);
+        return Paths.get(productPath, fileName);
+    }
+
+    /**
+     * 상품 이미지 업로드
      * @param file          업로드할 이미지 파일
      * @return              저장된 파일의 경로 (DB에 저장할 상대 경로)
      * @throws IOException  파일 처리 중 오류 발생 시 예외 처리
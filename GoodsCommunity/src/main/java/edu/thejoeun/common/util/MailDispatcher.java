@@ -0,0 +1,235 @@
+package edu.thejoeun.common.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 메일 비동기 발송기
+ *
+ * 요청 스레드에서 mailSender.send() 를 호출하면 템플릿 변환 + SMTP 통신 시간(수 초)만큼 응답이 늦어지고,
+ * 메일 서버가 느려지면 Tomcat 요청 스레드가 모두 메일 발송에 묶인다.
+ *
+ * submit() 은 크기 제한이 있는 큐에 넣고 바로 반환하며, 발송 전용 스레드가 메세지를 만들고(preparator) 전송한다.
+ * - 큐가 가득 차면 거절(false)하고 rejected 지표를 증가시킨다.
+ * - 실패하면 backoff 만큼 기다렸다가 다시 시도한다. (1회차 backoff, 2회차 backoff*2, ...)
+ *   기다리는 동안 발송 스레드를 붙잡지 않도록 재시도는 별도 타이머 스레드가 다시 큐에 넣는다.
+ * - 발송 상태는 key(ex. 이메일)별로 일정 시간 보관하여 status() 로 조회한다.
+ */
+@Slf4j
+@Component
+public class MailDispatcher {
+
+    public enum State { QUEUED, SENDING, RETRYING, SENT, FAILED }
+
+    /**
+     * 발송 상태
+     * @param state     현재 상태
+     * @param attempts  시도 횟수
+     * @param lastError 마지막 실패 사유
+     * @param updatedAt 상태가 바뀐 시각 (epoch ms)
+     */
+    public record Status(State state, int attempts, String lastError, long updatedAt) {
+    }
+
+    private final JavaMailSender mailSender;
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService retryTimer;
+    private final Cache<String, Status> statuses;
+
+    private final Counter rejectedCounter;
+    private final Counter retriedCounter;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Timer sendTimer;
+    private final Timer deliveryTimer;
+
+    public MailDispatcher(JavaMailSender mailSender,
+                          MeterRegistry meterRegistry,
+                          @Value("${mail.dispatch.threads:4}") int threads,
+                          @Value("${mail.dispatch.queue-capacity:1000}") int queueCapacity,
+                          @Value("${mail.dispatch.max-attempts:3}") int maxAttempts,
+                          @Value("${mail.dispatch.backoff-ms:2000}") long backoffMs,
+                          @Value("${mail.dispatch.status-ttl-minutes:30}") long statusTtlMinutes) {
+        this.mailSender = mailSender;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMs = backoffMs;
+
+        AtomicInteger seq = new AtomicInteger();
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue, r -> {
+            Thread t = new Thread(r, "mail-dispatcher-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.retryTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "mail-retry");
+            t.setDaemon(true);
+            return t;
+        });
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(statusTtlMinutes))
+                .maximumSize(100_000)
+                .build();
+
+        Gauge.builder("mail.queue.size", queue, BlockingQueue::size)
+                .description("발송 대기 중인 메일 수").register(meterRegistry);
+        Gauge.builder("mail.active", workers, ThreadPoolExecutor::getActiveCount)
+                .description("발송 중인 메일 수").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("mail.rejected")
+                .description("큐가 가득 차서 거절된 메일 수").register(meterRegistry);
+        this.retriedCounter = Counter.builder("mail.retried")
+                .description("재시도한 횟수").register(meterRegistry);
+        this.sentCounter = Counter.builder("mail.sent")
+                .description("발송 성공한 메일 수").register(meterRegistry);
+        this.failedCounter = Counter.builder("mail.failed")
+                .description("재시도 후에도 실패한 메일 수").register(meterRegistry);
+        this.sendTimer = Timer.builder("mail.send.latency")
+                .description("SMTP 발송 1회 소요 시간 (메세지 생성 포함)").register(meterRegistry);
+        this.deliveryTimer = Timer.builder("mail.delivery.latency")
+                .description("큐에 들어간 후 발송 완료까지 소요 시간").register(meterRegistry);
+    }
+
+    /**
+     * 메일 발송 요청 (대기하지 않고 바로 반환)
+     * @param key        상태 조회용 키 (ex. 받는 사람 이메일, 같은 키로 다시 요청하면 상태를 덮어쓴다.)
+     * @param preparator 발송 스레드에서 메세지를 만드는 작업 (받는 사람, 제목, 본문 설정)
+     * @return 큐에 들어갔으면 true, 가득 차서 거절되었으면 false
+     */
+    public boolean submit(String key, MimeMessagePreparator preparator) {
+        Job job = new Job(key, preparator, System.nanoTime());
+        try {
+            updateStatus(job, State.QUEUED, 0, null);
+            workers.execute(() -> send(job, 1));
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            updateStatus(job, State.FAILED, 0, "발송 대기열이 가득 찼습니다.");
+            log.warn("메일 발송 대기열이 가득 차 요청을 거절합니다. key : {}", key);
+            return false;
+        }
+    }
+
+    /**
+     * 발송 상태 조회
+     * @param key submit() 에 전달한 키
+     * @return 상태 (요청한 적이 없거나 보관 시간이 지났으면 null)
+     */
+    public Status status(String key) {
+        return statuses.getIfPresent(key);
+    }
+
+    public int getQueueSize() {
+        return workers.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        retryTimer.shutdownNow();
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void send(Job job, int attempt) {
+        updateStatus(job, State.SENDING, attempt, null);
+        long start = System.nanoTime();
+        try {
+            mailSender.send(job.preparator());
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            deliveryTimer.record(System.nanoTime() - job.enqueuedAt(), TimeUnit.NANOSECONDS);
+            sentCounter.increment();
+            updateStatus(job, State.SENT, attempt, null);
+            log.info("메일 발송 완료 - key : {}, 시도 : {}", job.key(), attempt);
+        } catch (Exception e) {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (attempt >= maxAttempts) {
+                failedCounter.increment();
+                updateStatus(job, State.FAILED, attempt, e.getMessage());
+                log.error("메일 발송 실패 - key : {}, 시도 : {}", job.key(), attempt, e);
+                return;
+            }
+            long delay = backoffMs << (attempt - 1);
+            updateStatus(job, State.RETRYING, attempt, e.getMessage());
+            retriedCounter.increment();
+            log.warn("메일 발송 실패, {} ms 후 재시도 - key : {}, 시도 : {}, 사유 : {}", delay, job.key(), attempt, e.getMessage());
+            retryTimer.schedule(() -> resubmit(job, attempt + 1), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void resubmit(Job job, int attempt) {
+        try {
+            workers.execute(() -> send(job, attempt));
+        } catch (RejectedExecutionException e) {
+            // 대기열이 가득 차 있으면 잠시 후 다시 넣는다. (시도 횟수는 늘리지 않음)
+            retryTimer.schedule(() -> resubmit(job, attempt), backoffMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // 같은 키로 새 요청이 들어왔으면 이전 요청의 상태로 덮어쓰지 않는다.
+    private void updateStatus(Job job, State state, int attempts, String error) {
+        statuses.asMap().compute(job.key(), (k, old) -> {
+            if (state != State.QUEUED && job.current() != null && job.current() != old) {
+                return old;
+            }
+            Status status = new Status(state, attempts, error, System.currentTimeMillis());
+            job.current(status);
+            return status;
+        });
+    }
+
+    private static final class Job {
+        private final String key;
+        private final MimeMessagePreparator preparator;
+        private final long enqueuedAt;
+        // 이 요청이 마지막으로 기록한 상태
+        private volatile Status current;
+
+        Job(String key, MimeMessagePreparator preparator, long enqueuedAt) {
+            this.key = key;
+            this.preparator = preparator;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        String key() {
+            return key;
+        }
+
+        MimeMessagePreparator preparator() {
+            return preparator;
+        }
+
+        long enqueuedAt() {
+            return enqueuedAt;
+        }
+
+        Status current() {
+            return current;
+        }
+
+        void current(Status status) {
+            this.current = status;
+        }
+    }
+}
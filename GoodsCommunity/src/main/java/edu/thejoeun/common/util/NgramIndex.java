@@ -0,0 +1,232 @@
+package edu.thejoeun.common.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 메모리 n-gram 역색인 (inverted index)
+ *
+ * LIKE '%키워드%' 는 인덱스를 사용할 수 없어 매번 테이블 전체를 읽는다.
+ * 대신 문서(게시물, 상품)의 글자를 n 글자씩 잘라(n-gram) 조각별로 해당 문서 id 목록(posting list)을 만들어두고,
+ * 검색어도 같은 방식으로 잘라 모든 조각을 포함하는 문서만 찾는다.
+ *
+ * 한국어는 띄어쓰기/조사 때문에 단어 단위 분리가 어려워 2글자(bigram) 단위 분리가 잘 맞는다.
+ * ex) "굿즈커뮤니티" -> 굿즈, 즈커, 커뮤, 뮤니, 니티
+ *
+ * 순위 : 조각별 (1 + log(tf)) * idf 합계, 필드별 가중치(ex. 제목 > 내용) 반영
+ */
+public class NgramIndex {
+
+    private final int gramSize;
+    private final int[] fieldWeights;
+
+    // 조각 -> (문서 id -> 가중치 반영된 등장 횟수)
+    private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+    // 문서 id -> 포함된 조각 (수정/삭제 시 기존 posting 제거용)
+    private final Map<Integer, Set<String>> docGrams = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param gramSize     조각 글자 수 (2 = bigram, 3 = trigram)
+     * @param fieldWeights put() 에 전달할 필드 순서대로의 가중치
+     */
+    public NgramIndex(int gramSize, int... fieldWeights) {
+        this.gramSize = gramSize;
+        this.fieldWeights = fieldWeights;
+    }
+
+    /**
+     * 문서 추가 또는 교체
+     * @param docId  문서 id
+     * @param fields 색인할 필드 값 (생성자의 fieldWeights 순서)
+     */
+    public void put(int docId, String... fields) {
+        Map<String, Integer> tf = new HashMap<>();
+        for (int i = 0; i < fields.length; i++) {
+            int weight = i < fieldWeights.length ? fieldWeights[i] : 1;
+            for (String gram : tokenize(fields[i])) {
+                tf.merge(gram, weight, Integer::sum);
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+            for (Map.Entry<String, Integer> e : tf.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(docId, e.getValue());
+            }
+            docGrams.put(docId, new HashSet<>(tf.keySet()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 문서 제거
+     * @param docId 문서 id
+     */
+    public void remove(int docId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docGrams.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docGrams.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어의 모든 조각을 포함하는 문서를 점수순으로 조회
+     * @param query  검색어
+     * @param offset 건너뛸 결과 수
+     * @param limit  조회할 결과 수
+     * @return 해당 페이지 문서 id 와 전체 결과 수
+     */
+    public Result search(String query, int offset, int limit) {
+        Set<String> grams = queryGrams(query);
+        if (grams.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            List<Map<Integer, Integer>> lists = new ArrayList<>(grams.size());
+            for (String gram : grams) {
+                Map<Integer, Integer> list = postings.get(gram);
+                if (list == null) {
+                    return new Result(List.of(), 0);
+                }
+                lists.add(list);
+            }
+            // 가장 짧은 posting list 부터 교집합
+            lists.sort(Comparator.comparingInt(Map::size));
+            int docCount = docGrams.size();
+
+            Map<Integer, Double> scores = new HashMap<>();
+            for (Integer docId : lists.get(0).keySet()) {
+                double score = 0;
+                boolean all = true;
+                for (Map<Integer, Integer> list : lists) {
+                    Integer tf = list.get(docId);
+                    if (tf == null) {
+                        all = false;
+                        break;
+                    }
+                    double idf = Math.log(1 + (double) docCount / list.size());
+                    score += (1 + Math.log(tf)) * idf;
+                }
+                if (all) {
+                    scores.put(docId, score);
+                }
+            }
+
+            List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.<Integer, Double>comparingByKey().reversed()));
+
+            List<Integer> ids = new ArrayList<>();
+            for (int i = Math.max(0, offset); i < ranked.size() && ids.size() < limit; i++) {
+                ids.add(ranked.get(i).getKey());
+            }
+            return new Result(ids, ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색에 사용할 조각
+     * n 보다 짧은 단어는 색인에서 단어 그대로의 조각이 되므로, 검색어에 남겨두면
+     * 긴 단어의 일부인 경우(ex. "나이키 T" -> "T셔츠", "B-1234" -> "AB-1234")를 찾지 못한다.
+     * n 글자 조각만 사용하고 짧은 단어는 버린다. (n 글자 조각이 하나도 없으면 빈 결과)
+     * @param query 검색어
+     * @return 중복 제거된 n 글자 조각
+     */
+    public Set<String> queryGrams(String query) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String gram : tokenize(query)) {
+            if (gram.length() == gramSize) {
+                grams.add(gram);
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * 문자열을 n-gram 조각으로 분리
+     * 전각/반각 통일(NFKC), 소문자 변환 후 글자/숫자가 아닌 문자를 기준으로 단어를 나누고
+     * 단어별로 n 글자씩 자른다. n 보다 짧은 단어는 단어 그대로 사용한다.
+     * @param text 원본 문자열
+     * @return 조각 목록 (중복 포함)
+     */
+    public List<String> tokenize(String text) {
+        List<String> grams = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return grams;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        for (String word : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (word.length() <= gramSize) {
+                grams.add(word);
+                continue;
+            }
+            for (int i = 0; i + gramSize <= word.length(); i++) {
+                grams.add(word.substring(i, i + gramSize));
+            }
+        }
+        return grams;
+    }
+
+    private void removeInternal(int docId) {
+        Set<String> old = docGrams.remove(docId);
+        if (old == null) {
+            return;
+        }
+        for (String gram : old) {
+            Map<Integer, Integer> list = postings.get(gram);
+            if (list != null) {
+                list.remove(docId);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * 검색 결과
+     * @param ids   해당 페이지 문서 id (점수순)
+     * @param total 전체 결과 수
+     */
+    public record Result(List<Integer> ids, int total) {
+    }
+}
@@ -0,0 +1,168 @@
+package edu.thejoeun.common.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket 알림 비동기 전송기
+ *
+ * 요청 스레드에서 바로 convertAndSend 를 호출하면 브로커 전송 시간만큼 응답이 늦어지고,
+ * 게시글이 몰릴 때 클라이언트는 게시글마다 한 번씩 메세지를 받게 된다.
+ *
+ * publish() 는 크기 제한이 있는 큐에 넣기만 하고 바로 반환하며,
+ * 전송 전용 스레드가 첫 알림 이후 window 시간 동안 들어온 알림을 목적지(topic)별로 묶어 한 번에 전송한다.
+ * 메세지는 최신 알림의 필드 + count + notifications(묶인 알림 목록) 형식으로, 1건일 때도 같다.
+ * 큐가 가득 차면 알림을 버리고 dropped 지표를 증가시킨다.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final BlockingQueue<Event> queue;
+    private final long windowMs;
+    private final int maxBatchSize;
+
+    private final Counter enqueuedCounter;
+    private final Counter droppedCounter;
+    private final Counter framesCounter;
+
+    private Thread worker;
+    private volatile boolean running;
+
+    public NotificationDispatcher(SimpMessagingTemplate messagingTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${notification.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${notification.coalesce-window-ms:100}") long windowMs,
+                                  @Value("${notification.max-batch-size:100}") int maxBatchSize) {
+        this.messagingTemplate = messagingTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.enqueuedCounter = Counter.builder("notification.enqueued")
+                .description("큐에 들어간 알림 수").register(meterRegistry);
+        this.droppedCounter = Counter.builder("notification.dropped")
+                .description("큐가 가득 차서 버려진 알림 수").register(meterRegistry);
+        this.framesCounter = Counter.builder("notification.frames")
+                .description("브로커로 전송한 메세지 수").register(meterRegistry);
+        Gauge.builder("notification.queue.size", queue, BlockingQueue::size)
+                .description("전송 대기 중인 알림 수").register(meterRegistry);
+    }
+
+    /**
+     * 알림 전송 요청 (대기하지 않고 바로 반환)
+     * @param destination  구독 경로 ex) /topic/notifications
+     * @param notification 알림 내용
+     * @return 큐에 들어갔으면 true, 가득 차서 버려졌으면 false
+     */
+    public boolean publish(String destination, Map<String, Object> notification) {
+        if (queue.offer(new Event(destination, notification))) {
+            enqueuedCounter.increment();
+            return true;
+        }
+        droppedCounter.increment();
+        log.warn("알림 큐가 가득 차 알림을 버립니다. destination : {}", destination);
+        return false;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "notification-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            Event first;
+            try {
+                first = running ? queue.take() : queue.poll();
+            } catch (InterruptedException e) {
+                // stop() 호출 - 남은 알림을 전송하고 종료
+                running = false;
+                continue;
+            }
+            if (first == null) {
+                break;
+            }
+            List<Event> batch = new ArrayList<>();
+            batch.add(first);
+            collect(batch);
+            try {
+                send(batch);
+            } catch (Exception e) {
+                log.error("알림 전송 중 오류 발생 : ", e);
+            }
+        }
+    }
+
+    // 첫 알림 이후 window 동안 들어온 알림을 모은다.
+    private void collect(List<Event> batch) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+        try {
+            while (running && batch.size() < maxBatchSize) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                Event next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+        } catch (InterruptedException e) {
+            running = false;
+        }
+        queue.drainTo(batch, maxBatchSize - batch.size());
+    }
+
+    /*
+    목적지별로 묶어서 전송
+    건수와 관계없이 항상 같은 형식으로 보낸다.
+    - 가장 최근 알림의 필드(msg, boardId, title ...)를 그대로 최상위에 둔다. (기존 구독자는 최신 알림을 그대로 표시)
+    - count / notifications 에 묶인 알림 수와 전체 목록을 함께 담는다. (1건이면 count = 1)
+     */
+    private void send(List<Event> batch) {
+        Map<String, List<Map<String, Object>>> byDestination = new LinkedHashMap<>();
+        for (Event e : batch) {
+            byDestination.computeIfAbsent(e.destination(), k -> new ArrayList<>()).add(e.payload());
+        }
+        for (Map.Entry<String, List<Map<String, Object>>> entry : byDestination.entrySet()) {
+            List<Map<String, Object>> payloads = entry.getValue();
+            Map<String, Object> frame = new HashMap<>(payloads.get(payloads.size() - 1));
+            frame.put("count", payloads.size());
+            frame.put("notifications", payloads);
+            messagingTemplate.convertAndSend(entry.getKey(), frame);
+            framesCounter.increment();
+        }
+        log.debug("알림 전송 완료 : {} 건 -> {} 메세지", batch.size(), byDestination.size());
+    }
+
+    private record Event(String destination, Map<String, Object> payload) {
+    }
+}
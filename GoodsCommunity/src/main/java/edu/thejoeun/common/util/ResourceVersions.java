@@ -0,0 +1,90 @@
+package edu.thejoeun.common.util;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 리소스 버전 관리 (ETag 생성용)
+ *
+ * 게시물/상품이 등록, 수정, 삭제될 때마다 해당 리소스와 목록의 버전을 1 증가시킨다.
+ * 조회 API 는 버전으로 ETag 를 만들어, 클라이언트가 보낸 If-None-Match 와 같으면
+ * DB 조회와 JSON 변환 없이 304 Not Modified 로 응답한다.
+ *
+ * 서버가 재시작되면 버전이 0 부터 다시 시작하므로 서버 시작 시각(epoch)을 ETag 에 함께 넣는다.
+ */
+@Component
+public class ResourceVersions {
+
+    public static final String BOARD_LIST = "board:list";
+    public static final String PRODUCT_LIST = "product:list";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ConcurrentHashMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public static String board(int id) {
+        return "board:" + id;
+    }
+
+    public static String product(int id) {
+        return "product:" + id;
+    }
+
+    public long get(String key) {
+        AtomicLong v = versions.get(key);
+        return v != null ? v.get() : 0;
+    }
+
+    /**
+     * 버전 증가
+     * 트랜잭션 안에서 호출되면 커밋된 후에 증가시킨다.
+     * (커밋 전 데이터가 새 ETag 로 캐시되는 것 방지)
+     * @param keys 변경된 리소스 키
+     */
+    public void bump(String... keys) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(keys);
+                }
+            });
+        } else {
+            increment(keys);
+        }
+    }
+
+    /**
+     * 강한(strong) ETag 생성
+     * @param key   리소스 키
+     * @param extra 버전 외에 응답에 영향을 주는 값 (ex. 인기글 순위 버전)
+     * @return "epoch-version[-extra...]"
+     */
+    public String etag(String key, long... extra) {
+        StringBuilder sb = new StringBuilder("\"").append(epoch).append('-').append(get(key));
+        for (long e : extra) {
+            sb.append('-').append(e);
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * 약한(weak) ETag 생성
+     * 조회수처럼 요청마다 바뀌지만 중요하지 않은 값이 응답에 포함된 경우 사용 (그 값은 ETag 에 넣지 않는다.)
+     * @param key   리소스 키
+     * @param extra 버전 외에 응답에 영향을 주는 값
+     * @return W/"epoch-version[-extra...]"
+     */
+    public String weakEtag(String key, long... extra) {
+        return "W/" + etag(key, extra);
+    }
+
+    private void increment(String... keys) {
+        for (String key : keys) {
+            versions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+        }
+    }
+}
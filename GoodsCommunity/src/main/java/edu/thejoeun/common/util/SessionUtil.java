@@ -1,20 +1,28 @@
 package edu.thejoeun.common.util;
 
+import edu.thejoeun.member.model.dto.LoginUser;
 import edu.thejoeun.member.model.dto.Member;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 
+/**
+ * 로그인 사용자 세션 관리
+ * 세션에는 Member 전체가 아니라 LoginUser(id, 이메일, 이름, 권한)만 보관한다.
+ */
 public class SessionUtil {
     private static final String LOGIN_USER = "loginUser";
     public static void setLoginUser(HttpSession session, Member member) {
-        session.setAttribute(LOGIN_USER, member);
+        LoginUser loginUser = LoginUser.from(member);
+        // 같은 값이면 다시 저장하지 않는다. (DB 세션 저장소에서 불필요한 쓰기 방지)
+        if (!loginUser.equals(session.getAttribute(LOGIN_USER))) {
+            session.setAttribute(LOGIN_USER, loginUser);
+        }
         session.setMaxInactiveInterval(1800);
     }
     public static void invalidateLoginUser(HttpSession session) {
         session.removeAttribute(LOGIN_USER);
         // 모든 세션을 지우는 것이 아니라 해당 세션만 지워 로그아웃 처리
     }
-    public static Member getLoginUser(HttpSession session) {
-        return (Member) session.getAttribute(LOGIN_USER);
+    public static LoginUser getLoginUser(HttpSession session) {
+        return (LoginUser) session.getAttribute(LOGIN_USER);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+package edu.thejoeun.common.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * 키별 잠금 (striped lock)
+ *
+ * 키(ex. 상품 id)마다 잠금 객체를 만들지 않고, 고정 개수의 잠금을 키의 해시로 나누어 사용한다.
+ * 여러 키를 한 번에 잠글 때는 항상 잠금 번호 오름차순으로 잠가서
+ * 서로 다른 요청이 반대 순서로 잠그다 멈추는(deadlock) 상황을 막는다.
+ */
+public class StripedLocks {
+
+    private final ReentrantLock[] locks;
+
+    public StripedLocks(int stripes) {
+        locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 여러 키를 정해진 순서로 잠그고 작업 실행
+     * @param keys 잠글 키
+     * @param task 잠금 상태에서 실행할 작업
+     */
+    public <T> T withLocks(int[] keys, Supplier<T> task) {
+        int[] stripes = IntStream.of(keys).map(this::stripeOf).distinct().sorted().toArray();
+        int locked = 0;
+        try {
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                locked++;
+            }
+            return task.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    private int stripeOf(int key) {
+        int h = Integer.hashCode(key);
+        h ^= (h >>> 16);
+        return Math.floorMod(h, locks.length);
+    }
+}
@@ -36,4 +36,24 @@ public class Utility {
 
         return  content;
     }
+
+    /**
+     * 목록 미리보기 문장 생성
+     * 줄바꿈/연속 공백을 한 칸으로 줄이고 앞에서부터 maxLength 글자까지 자른다.
+     * 잘린 경우 끝에 "..." 추가
+     * @param content   원본 내용
+     * @param maxLength 최대 글자 수
+     * @return 미리보기 문장
+     */
+    public static String excerpt(String content, int maxLength) {
+        if (content == null) {
+            return null;
+        }
+        String text = content.replaceAll("\\s+", " ").trim();
+        if (text.codePointCount(0, text.length()) <= maxLength) {
+            return text;
+        }
+        int end = text.offsetByCodePoints(0, maxLength);
+        return text.substring(0, end) + "...";
+    }
 }
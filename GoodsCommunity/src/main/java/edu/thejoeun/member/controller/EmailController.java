@@ -27,6 +27,17 @@ public class EmailController {
         return 0;
     }
 
+    /**
+     * 인증 메일 발송 상태 조회
+     * signup 은 메일 발송을 기다리지 않고 바로 응답하므로 발송 결과는 이 API 로 확인한다.
+     * @param email 받는 사람 이메일
+     * @return state (NONE, QUEUED, SENDING, RETRYING, SENT, FAILED), attempts, updatedAt
+     */
+    @GetMapping("/status")
+    public Map<String, Object> getMailStatus(@RequestParam String email){
+        return emailService.getMailStatus(email);
+    }
+
     @PostMapping("/checkAuthKey")
     public int checkAuthKey(@RequestBody Map<String, Object> map){
         log.info("인증키 번호 : {}", map);
@@ -2,6 +2,7 @@ package edu.thejoeun.member.controller;
 
 import edu.thejoeun.common.util.FileUploadService;
 import edu.thejoeun.common.util.SessionUtil;
+import edu.thejoeun.member.model.dto.LoginUser;
 import edu.thejoeun.member.model.dto.Member;
 import edu.thejoeun.member.model.service.MemberServiceImpl;
 import jakarta.servlet.http.Cookie;
@@ -49,6 +50,12 @@ public class MemberAPIController {
         return memberService.checkLoginStatus(session);
     }
 
+    // 로그인한 회원의 전체 정보 (주소, 전화번호, 프로필 이미지 포함)
+    @GetMapping("/profile")
+    public Map<String, Object> getMyProfile(HttpSession session){
+        return memberService.getMyProfile(session);
+    }
+
     // const res = axios.post("/api/auth/signup",signupData);
     // PostMapping 만들기
     // mapper.xml -> mapper.java -> service.java -> serviceImpl.java apiController.java
@@ -185,8 +192,8 @@ public class MemberAPIController {
          */
         Map<String, Object> res = new HashMap<>();
         try{
-            Member loginUser = SessionUtil.getLoginUser(session);
-            String imageUrl = memberService.updateProfileImage(loginUser, memberEmail, file, session);
+            LoginUser loginUser = SessionUtil.getLoginUser(session);
+            String imageUrl = memberService.updateProfileImage(loginUser, memberEmail, file);
             res.put("success", true);
             res.put("message", "프로필 이미지 업데이트되었습니다.");
             res.put("imageUrl", imageUrl);
@@ -0,0 +1,29 @@
+package edu.thejoeun.member.model.dto;
+
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * 세션에 보관하는 로그인 사용자 (변경 불가)
+ *
+ * Member 전체(주소, 전화번호, 프로필 이미지 경로 ...)를 세션에 넣지 않고
+ * 요청마다 필요한 값(id, 이메일, 권한)과 화면 상단에 표시할 이름만 보관한다.
+ * 나머지 정보가 필요하면 memberEmail 로 DB 에서 조회한다.
+ *
+ * 세션 저장소가 DB 인 경우(session.store=jdbc) 직렬화해서 저장하므로 Serializable
+ */
+@Value
+public class LoginUser implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    int memberId;
+    String memberEmail;
+    String memberName;
+    String memberRole;
+
+    public static LoginUser from(Member member) {
+        return new LoginUser(member.getMemberId(), member.getMemberEmail(), member.getMemberName(), member.getMemberRole());
+    }
+}
@@ -24,4 +24,9 @@ public interface MemberMapper {
     // void updateProfileImage(String memberEmail, String memberProfileImage);
     void updateProfileImage(@Param("memberEmail") String memberEmail,
                             @Param("memberProfileImage") String memberProfileImage);
+
+    // 비밀번호 해시만 교체 (기존 해시가 oldPassword 와 같을 때만, 변경된 행 수 반환)
+    int updateMemberPasswordHash(@Param("memberEmail") String memberEmail,
+                                 @Param("oldPassword") String oldPassword,
+                                 @Param("newPassword") String newPassword);
 }
@@ -0,0 +1,181 @@
+package edu.thejoeun.member.model.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이메일 인증키 보관소
+ *
+ * 기존 ConcurrentHashMap 은 인증에 성공해야만 지워져서, 가입을 중단한 이메일의 인증키가 계속 쌓이고
+ * 같은 이메일로 발송/확인 요청을 무제한 보낼 수 있었다.
+ *
+ * - 인증키는 ttl 이 지나면 만료된다. Caffeine 은 만료 시각을 계층형 timing wheel 로 관리하고,
+ *   Scheduler 를 지정해 조회가 없어도 만료 시각에 정리된다.
+ * - 최대 max-size 개까지만 보관한다. (넘으면 오래되고 덜 사용된 항목부터 제거)
+ * - 이메일별 발송 횟수 / 확인 횟수를 window 시간 단위로 제한한다.
+ * - 인증키 하나당 틀린 입력이 max-attempts 번이면 인증키를 폐기한다. (무작위 대입 방지)
+ *
+ * 지표 : auth.key.live(보관 중), auth.key.expired(만료), auth.key.evicted(크기 초과 제거),
+ *        auth.key.rate.limited(횟수 제한, action=send|verify), auth.key.locked(틀린 입력 초과로 폐기)
+ */
+@Component
+public class AuthKeyStore {
+
+    public enum Result { SUCCESS, MISMATCH, NOT_FOUND, LOCKED, RATE_LIMITED }
+
+    private final Cache<String, Entry> keys;
+    private final Cache<String, AtomicInteger> sendCounts;
+    private final Cache<String, AtomicInteger> verifyCounts;
+    private final int maxAttempts;
+    private final int sendLimit;
+    private final int verifyLimit;
+
+    private final Counter expiredCounter;
+    private final Counter evictedCounter;
+    private final Counter sendLimitedCounter;
+    private final Counter verifyLimitedCounter;
+    private final Counter lockedCounter;
+
+    public AuthKeyStore(MeterRegistry meterRegistry,
+                        @Value("${auth.key.ttl-seconds:300}") long ttlSeconds,
+                        @Value("${auth.key.max-size:100000}") long maxSize,
+                        @Value("${auth.key.max-attempts:5}") int maxAttempts,
+                        @Value("${auth.key.send-limit:5}") int sendLimit,
+                        @Value("${auth.key.verify-limit:20}") int verifyLimit,
+                        @Value("${auth.key.rate-window-seconds:3600}") long windowSeconds) {
+        this.maxAttempts = maxAttempts;
+        this.sendLimit = sendLimit;
+        this.verifyLimit = verifyLimit;
+
+        this.expiredCounter = Counter.builder("auth.key.expired")
+                .description("만료된 인증키 수").register(meterRegistry);
+        this.evictedCounter = Counter.builder("auth.key.evicted")
+                .description("보관 개수 초과로 제거된 인증키 수").register(meterRegistry);
+        this.sendLimitedCounter = Counter.builder("auth.key.rate.limited").tag("action", "send")
+                .description("횟수 제한으로 거절된 요청 수").register(meterRegistry);
+        this.verifyLimitedCounter = Counter.builder("auth.key.rate.limited").tag("action", "verify")
+                .description("횟수 제한으로 거절된 요청 수").register(meterRegistry);
+        this.lockedCounter = Counter.builder("auth.key.locked")
+                .description("틀린 입력 횟수 초과로 폐기된 인증키 수").register(meterRegistry);
+
+        this.keys = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener((String email, Entry entry, RemovalCause cause) -> {
+                    if (cause == RemovalCause.EXPIRED) {
+                        expiredCounter.increment();
+                    } else if (cause == RemovalCause.SIZE) {
+                        evictedCounter.increment();
+                    }
+                })
+                .build();
+        // 횟수 카운터는 처음 요청한 시각부터 window 동안 유지 (값만 증가시키고 다시 쓰지 않으므로 고정 window)
+        this.sendCounts = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .maximumSize(maxSize)
+                .build();
+        this.verifyCounts = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .maximumSize(maxSize)
+                .build();
+
+        Gauge.builder("auth.key.live", keys, Cache::estimatedSize)
+                .description("보관 중인 인증키 수").register(meterRegistry);
+    }
+
+    /**
+     * 발송 횟수 확인 후 1 증가
+     * @param email 받는 사람 이메일
+     * @return 제한 이내면 true
+     */
+    public boolean tryAcquireSend(String email) {
+        if (sendCounts.get(email, k -> new AtomicInteger()).incrementAndGet() > sendLimit) {
+            sendLimitedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 인증키 보관 (같은 이메일의 이전 인증키와 틀린 횟수는 초기화)
+     */
+    public void put(String email, String authKey) {
+        keys.put(email, new Entry(authKey));
+    }
+
+    /**
+     * 인증키 제거 (발송 요청 실패 등)
+     * @param authKey 이 인증키일 때만 제거 (그 사이 새로 발급된 인증키는 유지)
+     */
+    public void remove(String email, String authKey) {
+        Entry e = keys.getIfPresent(email);
+        if (e != null && e.authKey().equals(authKey)) {
+            keys.asMap().remove(email, e);
+        }
+    }
+
+    /**
+     * 인증키 확인
+     * 성공하면 인증키를 제거하고, max-attempts 번 틀리면 인증키를 폐기한다.
+     * (틀린 횟수만 증가시키고 항목을 다시 쓰지 않으므로 만료 시각은 연장되지 않는다.)
+     * @param email   이메일
+     * @param authKey 입력한 인증키
+     * @return 확인 결과
+     */
+    public Result verify(String email, String authKey) {
+        if (verifyCounts.get(email, k -> new AtomicInteger()).incrementAndGet() > verifyLimit) {
+            verifyLimitedCounter.increment();
+            return Result.RATE_LIMITED;
+        }
+        Entry e = keys.getIfPresent(email);
+        if (e == null) {
+            return Result.NOT_FOUND;
+        }
+        if (matches(e.authKey(), authKey)) {
+            // 동시에 같은 인증키로 두 번 확인해도 한 번만 성공
+            return keys.asMap().remove(email, e) ? Result.SUCCESS : Result.NOT_FOUND;
+        }
+        if (e.failures().incrementAndGet() >= maxAttempts) {
+            if (keys.asMap().remove(email, e)) {
+                lockedCounter.increment();
+            }
+            return Result.LOCKED;
+        }
+        return Result.MISMATCH;
+    }
+
+    public long size() {
+        return keys.estimatedSize();
+    }
+
+    // 비교 시간으로 일치 여부를 추측할 수 없도록 고정 시간 비교
+    private static boolean matches(String expected, String input) {
+        if (input == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), input.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param authKey  인증키
+     * @param failures 틀린 입력 횟수
+     */
+    private record Entry(String authKey, AtomicInteger failures) {
+        Entry(String authKey) {
+            this(authKey, new AtomicInteger());
+        }
+    }
+}
@@ -20,4 +20,11 @@ public interface EmailService {
      * @return count
      */
     int checkAuthKey(Map<String, Object> map) ;
+
+    /**
+     * 메일 발송 상태 조회
+     * @param email 받는 사람 이메일
+     * @return state (NONE, QUEUED, SENDING, RETRYING, SENT, FAILED), attempts, updatedAt
+     */
+    Map<String, Object> getMailStatus(String email);
 }
\ No newline at end of file
@@ -1,16 +1,19 @@
 package edu.thejoeun.member.model.service;
 
-import jakarta.mail.internet.MimeMessage;
+import edu.thejoeun.common.util.MailDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.activation.DataSource;
+import jakarta.mail.util.ByteArrayDataSource;
 import org.springframework.core.io.ClassPathResource;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -20,63 +23,118 @@ import java.util.concurrent.ConcurrentHashMap;
 @Slf4j
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
-    // EmailConfig 에  설정된 메일보내기 기능 과 관련 환경설정 사용
-    private final JavaMailSender mailSender;
-
-
     // 템플릿 엔진 이용해서 auth/signup.html 에 있는 html 코드를 java로 변환
     private final SpringTemplateEngine templateEngine;
 
-    private final  Map<String,String> authKeyStorage = new ConcurrentHashMap<>();
+    // 메일은 요청 스레드에서 보내지 않고 발송 전용 스레드에 맡긴다.
+    // (EmailConfig 에 설정된 JavaMailSender 는 MailDispatcher 가 사용)
+    private final MailDispatcher mailDispatcher;
+
+    // 인증키 보관 (만료 시간, 최대 개수, 이메일별 발송/확인 횟수 제한)
+    private final AuthKeyStore authKeyStore;
+
+    /*
+    메일 본문 캐시 (htmlName -> 인증키 자리를 기준으로 나눈 html 조각)
+    템플릿마다 달라지는 값은 인증키뿐이므로, 자리표시 문자열로 한 번만 변환해두고
+    메일마다 조각 사이에 인증키만 이어 붙인다. (메일마다 템플릿 해석/변환하지 않음)
+     */
+    private static final String AUTH_KEY_PLACEHOLDER = "__AUTH_KEY_PLACEHOLDER__";
+    private final Map<String, String[]> htmlParts = new ConcurrentHashMap<>();
+
+    // 로고 이미지 : 처음 사용할 때 한 번만 읽어서 모든 메일이 같은 byte 배열을 공유한다.
+    private volatile DataSource logo;
 
     // 이메일 보내기
     @Override
     public String sendMail(String htmlName, String email) {
         // 이메일 정제 (정리하여 제공한다.)
         email = email.trim().replaceAll("^\"|\"$","");
+        // 같은 이메일로 너무 자주 요청하면 발송하지 않는다.
+        if (!authKeyStore.tryAcquireSend(email)) {
+            log.warn("인증 메일 발송 횟수 초과 - 이메일 : {}", email);
+            return null;
+        }
         // 6자리 난수 코드 생성하는 기능 불러오기
         String authKey = createAuthKey();
-        try{
-            // 제목
-            String 제목 = null;
-            switch (htmlName){
-                case "signup" :
-                    제목 = "[나의 프로젝트 명칭 / 회사 명칭] 회원가입 인증번호 입니다.";
-                    break;
-            }
+        // 제목
+        String 제목 = null;
+        switch (htmlName){
+            case "signup" :
+                제목 = "[나의 프로젝트 명칭 / 회사 명칭] 회원가입 인증번호 입니다.";
+                break;
+        }
+        String to = email;
+        String subject = 제목;
+
+        /*
+        인증키를 먼저 보관하고 발송은 발송 전용 스레드에 맡긴 뒤 바로 반환한다.
+        (템플릿 변환 + SMTP 통신을 기다리지 않음, 발송 결과는 getMailStatus 로 확인)
+        MimeMessagePreparator : 발송 스레드에서 메세지 내용을 채우는 작업
+         */
+        authKeyStore.put(email, authKey);
+        log.info("인증키 메모리 저장 완료 - 이메일 : {}, 인증번호 : {}", email, authKey);
+        boolean queued = mailDispatcher.submit(email, mimeMessage -> {
             // 인증 메일 보내기
             // MimeMessage : Java에서 메일을 보내기위해 메세지를 준비하는 객체
-            // import jakarta.mail.internet.MimeMessage;
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
             //                                            메세지내용, 파일전송사용?, 문자인코딩지정
             // mailSender 객체를 이용해서 이메일 본문을쉽게 설정할 수 있도록 도와줌
             MimeMessageHelper helper = new MimeMessageHelper(mimeMessage,true,"UTF-8");
-            helper.setTo(email);     // 이메일 받을 사람 지정
-            helper.setSubject(제목); // 이메일 제목 지정
+            helper.setTo(to);     // 이메일 받을 사람 지정
+            helper.setSubject(subject); // 이메일 제목 지정
             helper.setText(loadHtml(authKey,htmlName),true);
             // 이메일 본문 인증키 + 회사에서 인증키를 보냈다는 신뢰의 본문 내용  true 는 html 형식이 맞다
             // 메일에 이미지 첨부 파일 첨부랑은 살짝 다름
             //      로고이미지를 보낼 때 보낼이미지와 이미지를 보낼 때 담을 id 명칭 작성
             //                이미지를 담고 갈 바구니 명칭, 이미지 본문 내용
-            helper.addInline("logo"             , new ClassPathResource("static/images/logo.jpg"));
-            // 모든 준비가 끝나면 진짜로 메일보내기~!
-            mailSender.send(mimeMessage); // 이메일 발송
-
-            authKeyStorage.put(email, authKey);
-            log.info("인증키 메모리 저장 완료 - 이메일 : {}, 인증번호 : {}", email, authKey);
-        }catch (Exception e){
-            e.printStackTrace();
+            helper.addInline("logo"             , getLogo());
+        });
+        if (!queued) {
+            // 발송 대기열이 가득 찬 경우 인증키도 보관하지 않는다.
+            authKeyStore.remove(email, authKey);
             return null;
         }
-        // 이메일 발송 & 인증키 잠시 보관을 모두 성공하면 생성된 인증키 반환
+        // 인증키 보관 & 발송 요청을 모두 성공하면 생성된 인증키 반환
         return authKey;
     }
 
+    // 메일 발송 상태 조회
+    @Override
+    public Map<String, Object> getMailStatus(String email) {
+        email = email.trim().replaceAll("^\"|\"$","");
+        MailDispatcher.Status status = mailDispatcher.status(email);
+        Map<String, Object> res = new HashMap<>();
+        if (status == null) {
+            res.put("state", "NONE");
+            return res;
+        }
+        res.put("state", status.state().name());
+        res.put("attempts", status.attempts());
+        res.put("updatedAt", status.updatedAt());
+        return res;
+    }
+
     public String loadHtml(String authKey, String htmlName) {
+        String[] parts = htmlParts.computeIfAbsent(htmlName, this::renderTemplate);
+        int length = authKey.length() * (parts.length - 1);
+        for (String part : parts) {
+            length += part.length();
+        }
+        StringBuilder html = new StringBuilder(length);
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                html.append(authKey);
+            }
+            html.append(parts[i]);
+        }
+        return html.toString();
+    }
+
+    // 템플릿을 인증키 자리표시 문자열로 한 번 변환한 뒤 자리표시 기준으로 나눈다.
+    private String[] renderTemplate(String htmlName) {
         Context context = new Context() ;
 
         // 타임리프가 적용된 html에서 사용할 값 추가
-        context.setVariable("authKey", authKey);
+        context.setVariable("authKey", AUTH_KEY_PLACEHOLDER);
 
         // templates/pages/auth 폴더에서 htmlName 과 같은
         // .html 파일 내용을 읽어와 String으로 변환
@@ -84,7 +142,20 @@ public class EmailServiceImpl implements EmailService {
         //  pages/authsignup.html
         //  return templateEngine.process("pages/auth/" + htmlName, context);
         //  pages/auth/signup.html
-        return templateEngine.process("pages/auth/" + htmlName, context);
+        String html = templateEngine.process("pages/auth/" + htmlName, context);
+        log.info("메일 템플릿 캐시 : {}", htmlName);
+        return html.split(AUTH_KEY_PLACEHOLDER, -1);
+    }
+
+    private DataSource getLogo() throws IOException {
+        DataSource ds = logo;
+        if (ds == null) {
+            try (InputStream in = new ClassPathResource("static/images/logo.jpg").getInputStream()) {
+                ds = new ByteArrayDataSource(in.readAllBytes(), "image/jpeg");
+            }
+            logo = ds;
+        }
+        return ds;
     }
 
     /**
@@ -153,18 +224,23 @@ public class EmailServiceImpl implements EmailService {
         String email = ((String) map.get("email")).trim().replaceAll("^\"|\"$","");
         String inputAuthKey = (String) map.get("authKey");
         log.info("인증키 확인 - 이메일 : {}", email);
-        String storedAuthKey = authKeyStorage.get(email);
-
-        if(storedAuthKey == null ) {
-            log.warn("저장된 인증키 없음 - 이메일 : {}", email);
-            return  0;
-        }
-        if(storedAuthKey != null && storedAuthKey.equals(inputAuthKey)){
-            log.info("인증 성공");
-            authKeyStorage.remove(email); //인증 후 삭제
-            return  1;
+        AuthKeyStore.Result result = authKeyStore.verify(email, inputAuthKey);
+        switch (result) {
+            case SUCCESS :
+                log.info("인증 성공");
+                return 1;
+            case NOT_FOUND :
+                log.warn("저장된 인증키 없음 (만료 포함) - 이메일 : {}", email);
+                return 0;
+            case LOCKED :
+                log.warn("인증 실패 횟수 초과로 인증키 폐기 - 이메일 : {}", email);
+                return 0;
+            case RATE_LIMITED :
+                log.warn("인증 확인 횟수 초과 - 이메일 : {}", email);
+                return 0;
+            default :
+                log.warn("인증 실패");
+                return 0;
         }
-        log.warn("인증 실패");
-        return 0;
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package edu.thejoeun.member.model.service;
 
+import edu.thejoeun.member.model.dto.LoginUser;
 import edu.thejoeun.member.model.dto.Member;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.ui.Model;
@@ -15,5 +16,5 @@ public interface MemberService {
     Member login(String memberEmail, String memberPassword);
     void saveMember(Member member);
     Map<String, Object> updateMember(Member member, String memberPassword, HttpSession session);
-    String updateProfileImage(Member loginUser, String memberEmail, MultipartFile file, HttpSession session) throws IOException;
+    String updateProfileImage(LoginUser loginUser, String memberEmail, MultipartFile file) throws IOException;
 }
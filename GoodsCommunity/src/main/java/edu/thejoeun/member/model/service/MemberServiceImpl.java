@@ -3,14 +3,15 @@ package edu.thejoeun.member.model.service;
 import edu.thejoeun.common.exception.ForbiddenException;
 import edu.thejoeun.common.exception.UnauthorizedException;
 import edu.thejoeun.common.util.FileUploadService;
+import edu.thejoeun.common.util.PasswordHasher;
 import edu.thejoeun.common.util.SessionUtil;
+import edu.thejoeun.member.model.dto.LoginUser;
 import edu.thejoeun.member.model.dto.Member;
 import edu.thejoeun.member.model.mapper.MemberMapper;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
@@ -20,6 +21,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @Service
@@ -29,7 +31,8 @@ public class MemberServiceImpl implements MemberService {
     private final MemberMapper memberMapper;
     private final FileUploadService fileUploadService;
 
-    BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder();
+    // BCrypt 암호화 / 검증은 전용 스레드 풀에서 실행 (요청 스레드에서 직접 계산하지 않음)
+    private final PasswordHasher passwordHasher;
 
     @Override
     public Member login(String memberEmail, String memberPassword) {
@@ -37,9 +40,16 @@ public class MemberServiceImpl implements MemberService {
         if(member == null) {
             return null;
         }
-        if(!bCryptPasswordEncoder.matches(memberPassword, member.getMemberPassword())) {
+        String storedPassword = member.getMemberPassword();
+        if(!passwordHasher.matches(memberPassword, storedPassword)) {
             return null;
         }
+        // 저장된 해시의 cost 가 현재 설정과 다르면 현재 cost 로 다시 암호화해서 저장
+        // (그 사이 비밀번호가 바뀌었으면 덮어쓰지 않도록 기존 해시가 같을 때만 변경)
+        if(passwordHasher.needsRehash(storedPassword)) {
+            passwordHasher.rehash(memberPassword,
+                    encoded -> memberMapper.updateMemberPasswordHash(memberEmail, storedPassword, encoded));
+        }
         member.setMemberPassword(null);
         return member;
     }
@@ -53,7 +63,7 @@ public class MemberServiceImpl implements MemberService {
         log.info(member.getMemberPhone());
         log.info(member.getMemberAddress());
         String originPW = member.getMemberPassword(); // 기존 클라이언트 비밀번호 가져오기
-        String encodedPw = bCryptPasswordEncoder.encode(originPW); // 비밀번호 암호화
+        String encodedPw = passwordHasher.encode(originPW); // 비밀번호 암호화
         member.setMemberPassword(encodedPw); // 암호화처리된 비밀번호로 교체
         log.info(encodedPw);
 
@@ -66,7 +76,16 @@ public class MemberServiceImpl implements MemberService {
 
     public Map<String, Object> loginProcess(String memberEmail, String memberPassword, HttpSession session) {
         Map<String, Object> res = new HashMap<>();
-        Member m = login(memberEmail,memberPassword);
+        Member m;
+        try {
+            m = login(memberEmail,memberPassword);
+        } catch (RejectedExecutionException e) {
+            // 비밀번호 검증 대기열이 가득 찬 경우
+            res.put("success",false);
+            res.put("message",e.getMessage());
+            log.warn("로그인 지연: {}", memberEmail);
+            return res;
+        }
         if(m == null) {
             res.put("success",false);
             res.put("message","이메일 또는 비밀번호가 일치하지 않습니다.");
@@ -97,32 +116,61 @@ public class MemberServiceImpl implements MemberService {
 
     /**
      * 로그인 상태확인
+     * 화면마다 자주 호출되므로 DB 를 조회하지 않고 세션의 LoginUser(id, 이메일, 이름, 권한)로 응답한다.
+     * 주소, 전화번호, 프로필 이미지 등이 필요하면 getMyProfile 사용
      * @param session 현재 세션을 가져온 후
      * @return 로그인 이 되어있으면 로그인이 되어있는 상태로 반환
      */
     public Map<String, Object> checkLoginStatus(HttpSession session) {
         Map<String, Object> res = new HashMap<>();
-        Member loginUser = (Member) session.getAttribute("loginUser");
-
+        LoginUser loginUser = SessionUtil.getLoginUser(session);
         if(loginUser == null) {
             res.put("loggedIn", false);
             res.put("user", null);
             log.debug("로그인 상태 확인: 로그인되지 않음");
         }else {
             res.put("loggedIn", true);
-            res.put("user",loginUser);
+            res.put("user", loginUser);
             log.debug("로그인 상태 확인 : {}", loginUser.getMemberEmail());
         }
         return  res;
     }
 
+    /**
+     * 로그인한 회원의 전체 정보 조회 (마이페이지 등)
+     * @param session 현재 세션을 가져온 후
+     * @return 로그인 되어있으면 DB 에서 조회한 회원 정보 (비밀번호 제외)
+     */
+    public Map<String, Object> getMyProfile(HttpSession session) {
+        Map<String, Object> res = new HashMap<>();
+        LoginUser loginUser = SessionUtil.getLoginUser(session);
+        // 세션에는 id, 이메일, 이름, 권한만 있으므로 화면에 필요한 회원 정보는 DB 에서 조회
+        Member user = loginUser != null ? memberMapper.getMemberByEmail(loginUser.getMemberEmail()) : null;
+
+        if(user == null) {
+            if(loginUser != null) {
+                // 로그인 후 탈퇴 등으로 회원 정보가 없는 경우
+                SessionUtil.invalidateLoginUser(session);
+            }
+            res.put("loggedIn", false);
+            res.put("user", null);
+            log.debug("회원 정보 조회: 로그인되지 않음");
+        }else {
+            user.setMemberPassword(null);
+            res.put("loggedIn", true);
+            res.put("user",user);
+            log.debug("회원 정보 조회 : {}", user.getMemberEmail());
+        }
+        return  res;
+    }
+
     @Transactional
     @Override
     public Map<String, Object> updateMember(Member member, String memberPassword, HttpSession session) {
         Map<String, Object> res = new HashMap<>();
         try {
             // 현재 로그인된 사용자 정보 가져오기
-            Member loginUser = SessionUtil.getLoginUser(session);
+            LoginUser loginUser = SessionUtil.getLoginUser(session);
             if(loginUser==null){
                 res.put("success", false);
                 res.put("message","로그인이 필요합니다.");
@@ -134,7 +182,7 @@ public class MemberServiceImpl implements MemberService {
             // 비밀번호 변경하는 경우
             if(memberPassword != null && !memberPassword.isEmpty()) {
                 // 현재 비밀번호와 DB에 저장된 비밀번호가 일치하는지 확인
-                if(!bCryptPasswordEncoder.matches(memberPassword, m.getMemberPassword())){
+                if(!passwordHasher.matches(memberPassword, m.getMemberPassword())){
                     res.put("success", false);
                     res.put("message","wrongPassword");
                     log.warn("비밀번호 불일치 - 이메일 : {}", loginUser.getMemberEmail());
@@ -143,7 +191,7 @@ public class MemberServiceImpl implements MemberService {
 
                 // 새 비밀번호 암호화 처리해서 저장할 수 있도록 로직 작성
                 if(member.getMemberPassword() != null && !member.getMemberPassword().isEmpty()) {
-                    String encodePw = bCryptPasswordEncoder.encode(member.getMemberPassword());
+                    String encodePw = passwordHasher.encode(member.getMemberPassword());
                     member.setMemberPassword(encodePw);
                 }
 
@@ -153,10 +201,9 @@ public class MemberServiceImpl implements MemberService {
             }
             member.setMemberId(m.getMemberId());
             memberMapper.updateMember(member);
-            // 수정된 db 내역으로 session 업데이트
-            Member updateMember = memberMapper.getMemberByEmail(member.getMemberEmail());
-            updateMember.setMemberPassword(null);
-            SessionUtil.setLoginUser(session, updateMember);
+            // 세션에 보관하는 값(id, 이메일, 이름, 권한)은 updateMember 로 바뀌지 않으므로
+            // 다시 조회하지 않고 수정 전에 조회한 DB 값 그대로 사용 (값이 같으면 세션에 다시 저장하지 않음)
+            SessionUtil.setLoginUser(session, m);
 
             res.put("success",true);
             res.put("message","success");
@@ -176,7 +223,7 @@ public class MemberServiceImpl implements MemberService {
      */
     @Transactional
     @Override
-    public String updateProfileImage(Member loginUser, String memberEmail, MultipartFile file, HttpSession session) throws IOException {
+    public String updateProfileImage(LoginUser loginUser, String memberEmail, MultipartFile file) throws IOException {
         // UnauthorizedException = IllegalStateException
         if (loginUser == null) {
             throw new UnauthorizedException("로그인이 필요합니다.");
@@ -199,18 +246,15 @@ public class MemberServiceImpl implements MemberService {
             throw new IllegalArgumentException("파일 크기는 5MB를 초과할 수 없습니다.");
         }
         // 기존 프로필 이미지 삭제
-        if (loginUser.getMemberProfileImage() != null) {
-            // 삭제 관련 기능 FileUploadService 에서 작성 후 기능 추가
-        }
+        // 세션에는 이미지 경로를 보관하지 않으므로 삭제 기능 추가 시 DB 에서 기존 경로 조회
+        // 삭제 관련 기능 FileUploadService 에서 작성 후 기능 추가
         // 새 이미지 업로드
         // memberProfileImage 을 넣어주어야함 setImageUrl 사용
         // file ->
         String imageUrl = fileUploadService.uploadProfileImage(file);
         // DB  업데이트
         // 작동하기 전에 중간에  상태 확인 후 작동
-        // 세션 업데이트
-        loginUser.setMemberProfileImage(imageUrl);
-        SessionUtil.setLoginUser(session, loginUser);
+        // (세션에는 프로필 이미지 경로가 없으므로 세션 업데이트 불필요)
         memberMapper.updateProfileImage(memberEmail, imageUrl);
         log.info("프로필 이미지 DB 업데이트 완료 - 이메일: {}", memberEmail);
         return imageUrl;
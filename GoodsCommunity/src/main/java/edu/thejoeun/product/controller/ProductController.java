@@ -1,18 +1,25 @@
 package edu.thejoeun.product.controller;
 
 
+import edu.thejoeun.common.util.ResourceVersions;
 import edu.thejoeun.common.util.SessionUtil;
 import edu.thejoeun.member.model.dto.Member;
 import edu.thejoeun.product.model.dto.Product;
+import edu.thejoeun.product.model.dto.ProductSuggestion;
+import edu.thejoeun.product.model.dto.StockAdjustment;
+import edu.thejoeun.product.model.service.ProductImporter;
 import edu.thejoeun.product.model.service.ProductService;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,38 +30,71 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ProductController {
     private final ProductService productService;
+    private final ResourceVersions resourceVersions; // ETag 생성용 버전
 
 
     /**
      * 전체 상품 조회
      * 전체 상품 조회 성공 ResponseEntity.ok = 200
      * 번호에 따른 상태 확인
+     * If-None-Match 가 현재 ETag 와 같으면 DB 조회 없이 304 응답
      */
     @GetMapping("/all")
-    public ResponseEntity<List<Product>> getAllProducts() {
+    public ResponseEntity<List<Product>> getAllProducts(WebRequest request) {
         log.info("GET /api/product/all - 전체 상품 조회");
+        if (request.checkNotModified(resourceVersions.etag(ResourceVersions.PRODUCT_LIST))) {
+            return null;
+        }
         List<Product> products = productService.getAllProducts();
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * 여러 상품 한 번에 조회 (장바구니, 찜 목록)
+     * 요청 예) [3, 15, 27]
+     * @param ids 상품 id 목록 (최대 1000 개)
+     * @return products : 요청 순서대로 조회된 상품, missingIds : 존재하지 않는 상품 id
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> getProductsByIds(@RequestBody List<Integer> ids) {
+        Map<String, Object> res = new HashMap<>();
+        try {
+            res.putAll(productService.getProductsByIds(ids));
+            res.put("success", true);
+            return ResponseEntity.ok(res);
+        } catch (IllegalArgumentException e) {
+            log.warn("상품 여러 건 조회 실패 : {}", e.getMessage());
+            res.put("success", false);
+            res.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(res);
+        }
+    }
+
     /**
      * 상품 상세 조회
      * @param id 아이디를 통해
      * @return id 에 해당하는 제품 데이터 반환
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getProductById(@PathVariable int id) {
+    public ResponseEntity<?> getProductById(@PathVariable int id, WebRequest request) {
         log.info("GET /api/product/{} - 상품 상세 조회",id);
+        // 상품 조회는 카탈로그 스냅샷(메모리)에서 처리하므로 먼저 조회해서 없으면 404
+        Product product;
         try {
-            Product product = productService.getProductById(id);
-            log.info("product:{}",product);
-            return ResponseEntity.ok(product);
+            product = productService.getProductById(id);
         }catch (Exception e){
             Map<String, Object> res = new HashMap<>();
             res.put("success",false);
             res.put("message",e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(res);
         }
+        // 304 응답이어도 자동완성 인기 점수는 반영해야 하므로 ETag 확인 전에 기록한다.
+        productService.recordProductView(id);
+        if (request.checkNotModified(resourceVersions.etag(ResourceVersions.product(id)))) {
+            return null;
+        }
+        log.info("product:{}",product);
+        return ResponseEntity.ok(product);
     }
 
     /**
@@ -65,8 +105,12 @@ public class ProductController {
      * @return 카테고리에 해당하는 상품들 조회
      */
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable String category) {
+    public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable String category, WebRequest request) {
         log.info("GET /api/product/category/{} - 카테고리별 조회", category);
+        // 카테고리 목록은 전체 상품 목록 버전을 함께 사용
+        if (request.checkNotModified(resourceVersions.etag(ResourceVersions.PRODUCT_LIST))) {
+            return null;
+        }
         List<Product> products = productService.getProductsByCategory(category);
         return ResponseEntity.ok(products);
     }
@@ -75,14 +119,61 @@ public class ProductController {
      * PathVariable & RequestParam = Header 에서 데이터 주고받기
      * PathVariable = {} 형태로 {} 내부에 변수명에 해당하는 데이터로 접근
      * RequestParam = ?category="카테고리명칭" 과 같은 형태로 키:값 데이터로 접근
-     * @param keyword 키워드에 해당하는 데이터를 DB에 조회 후
-     * @return 검색하고 조회된 모든 데이터를 목록 형태로 반환
+     * @param keyword 키워드에 해당하는 데이터를 검색 색인에서 조회 후 (2글자 이상)
+     * @param page    페이지 번호 (기본 1)
+     * @param size    한 페이지 상품 수 (기본 20)
+     * @return 관련도순 해당 페이지 상품 목록, 전체 검색 결과 수는 X-Total-Count 헤더로 전달
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(@RequestParam String keyword) {
+    public ResponseEntity<List<Product>> searchProducts(@RequestParam String keyword,
+                                                        @RequestParam(defaultValue = "1") int page,
+                                                        @RequestParam(defaultValue = "20") int size) {
         log.info("GET /api/product/search?keyword={} - 상품 검색", keyword);
-        List<Product> products = productService.searchProducts(keyword);
-        return ResponseEntity.ok(products);
+        Map<String, Object> result = productService.searchProducts(keyword, page, size);
+        @SuppressWarnings("unchecked")
+        List<Product> products = (List<Product>) result.get("products");
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.get("totalCount")))
+                .body(products);
+    }
+
+    /**
+     * 상품 필터 (카테고리, 제조사, 가격대 동시 선택) 및 항목별 개수
+     * 같은 필터를 여러 번 보내면 OR, 서로 다른 필터는 AND
+     * ex) /api/product/filter?category=의류&category=문구&price=10000-30000
+     * 메모리 필터 색인만 조회하며, 상품이 바뀌지 않았으면 304 응답
+     * @param category     카테고리 (여러 개 가능)
+     * @param manufacturer 제조사 (여러 개 가능)
+     * @param price        가격대 (여러 개 가능, 응답의 facets.price 항목 값 사용)
+     * @param page         페이지 번호 (기본 1)
+     * @param size         한 페이지 상품 수 (기본 20)
+     * @return products, totalCount, facets(필터별 항목 -> 상품 수)
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<Map<String, Object>> filterProducts(@RequestParam(required = false) List<String> category,
+                                                              @RequestParam(required = false) List<String> manufacturer,
+                                                              @RequestParam(required = false) List<String> price,
+                                                              @RequestParam(defaultValue = "1") int page,
+                                                              @RequestParam(defaultValue = "20") int size,
+                                                              WebRequest request) {
+        if (request.checkNotModified(resourceVersions.etag(ResourceVersions.PRODUCT_LIST))) {
+            return null;
+        }
+        return ResponseEntity.ok(productService.filterProducts(category, manufacturer, price, page, size));
+    }
+
+    /**
+     * 검색창 자동완성
+     * 상품명(단어 시작 포함) / 상품코드가 prefix 로 시작하는 상품을 인기순으로 반환
+     * 메모리 색인만 조회하므로 키 입력마다 호출해도 된다.
+     * @param prefix 입력 중인 검색어
+     * @param limit  최대 개수 (기본 10, 최대 20)
+     * @return 자동완성 목록
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestion>> suggestProducts(@RequestParam String prefix,
+                                                                   @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productService.suggestProducts(prefix, limit));
     }
 
 
@@ -111,6 +202,37 @@ public class ProductController {
         }
     }
 
+    /**
+     * 상품 대량 등록
+     * Content-Type : text/csv (첫 줄 컬럼명) 또는 application/x-ndjson (한 줄에 상품 JSON 하나)
+     * 본문을 한 줄씩 읽어 chunk 단위로 저장하며, 실패한 행은 건너뛰고 행 번호와 사유를 돌려준다.
+     * @return totalRows, insertedCount, failedCount, errors
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<Map<String, Object>> importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                              InputStream body) {
+        String format = contentType.startsWith("text/csv") ? ProductImporter.FORMAT_CSV : ProductImporter.FORMAT_NDJSON;
+        log.info("POST /api/product/import - 상품 대량 등록 ({})", format);
+        Map<String, Object> res = new HashMap<>();
+
+        try{
+            res.putAll(productService.importProducts(body, format));
+            res.put("success",true);
+            res.put("message","상품 대량 등록이 완료되었습니다.");
+            return ResponseEntity.ok(res);
+        }catch (IllegalArgumentException e){
+            log.warn("상품 대량 등록 실패 - 유효성 검사 오류 : {} ", e.getMessage());
+            res.put("success",false);
+            res.put("message",e.getMessage());
+            return ResponseEntity.badRequest().body(res);
+        } catch (Exception e) {
+            log.error("상품 대량 등록 실패 - 서버 오류", e);
+            res.put("success",false);
+            res.put("message","상품 대량 등록 중 오류가 발생했습니다.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(res);
+        }
+    }
+
     /**
      * 상품 수정
      * @param id      수정할 제품의 id 가져오기
@@ -212,6 +334,40 @@ public class ProductController {
 
         }
     }
+    /**
+     * 여러 상품 재고 일괄 업데이트 (장바구니 결제 등)
+     * 요청 예) [{"productId":1,"quantity":-2},{"productId":5,"quantity":-1}]
+     * 한 상품이라도 재고가 부족하면 전체 취소된다.
+     * @param adjustments 상품 id, 증감 수량 목록
+     * @return 요청 결과를 반환
+     */
+    @PatchMapping("/stock")
+    public ResponseEntity<Map<String, Object>> adjustStocks(@RequestBody List<StockAdjustment> adjustments) {
+        log.info("Patch /api/product/stock - 재고 일괄 업데이트 : {} 건", adjustments.size());
+        Map<String, Object> res = new HashMap<>();
+
+        try{
+            int count = productService.adjustStocks(adjustments);
+            res.put("success",true);
+            res.put("message","재고가 성공적으로 업데이트되었습니다.");
+            res.put("count", count);
+            return ResponseEntity.ok(res);
+
+        }catch (IllegalArgumentException e){
+            log.warn("재고 일괄 업데이트 실패 {} ", e.getMessage());
+            res.put("success",false);
+            res.put("message",e.getMessage());
+            return ResponseEntity.badRequest().body(res);
+
+        } catch (Exception e) {
+            log.error("재고 일괄 업데이트 실패 - 서버 오류", e);
+            res.put("success",false);
+            res.put("message","재고 업데이트 중 오류가 발생했습니다.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(res);
+
+        }
+    }
+
     @PostMapping("/product-image")
     public ResponseEntity<Map<String, Object>> uploadProfileImage(
             @RequestParam("file") MultipartFile file,
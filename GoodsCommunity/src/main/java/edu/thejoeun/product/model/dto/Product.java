@@ -19,6 +19,12 @@ public class Product {
     private String manufacturer;
     private String imageUrl;
     /*
+    목록용 축소 이미지(썸네일) 경로
+    가로 크기 작은 순으로 쉼표로 구분한다. ex) /product_images/abc_w160.jpg,/product_images/abc_w480.jpg
+    업로드 직후에는 만들어지기 전이므로 null 이며, 원본이 작으면 원본보다 작은 크기만 만든다.
+     */
+    private String imageVariants;
+    /*
     private Boolean isActive;
     - MySQL은 BOOLEAN 타입 사용 가능하지만
       ORACLE은 CHAR 이용하여 'Y', 'N' 형태로 주로 사용한다.
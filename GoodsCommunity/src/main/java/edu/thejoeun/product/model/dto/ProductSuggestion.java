@@ -0,0 +1,20 @@
+package edu.thejoeun.product.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 검색창 자동완성 항목
+ * 키 입력마다 호출되므로 화면에 표시할 최소한의 값만 담는다.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSuggestion {
+
+    private int id;
+    private String productName;
+    private String productCode;
+    private String category;
+}
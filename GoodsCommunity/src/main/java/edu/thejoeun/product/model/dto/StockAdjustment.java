@@ -0,0 +1,18 @@
+package edu.thejoeun.product.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 재고 증감 요청 (장바구니 결제 등 여러 상품 재고를 한 번에 변경할 때 사용)
+ * quantity : 양수 = 입고, 음수 = 출고
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockAdjustment {
+
+    private int productId;
+    private int quantity;
+}
@@ -2,8 +2,10 @@ package edu.thejoeun.product.model.mapper;
 
 import edu.thejoeun.product.model.dto.Product;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
+import java.util.Map;
 
 @Mapper
 public interface ProductMapper {
@@ -19,6 +21,13 @@ public interface ProductMapper {
      */
     Product getProductById(int id);
 
+    /**
+     * 여러 상품 id 로 한 번에 조회
+     * @param ids 상품 id 목록 (Oracle IN 절 제한으로 최대 1000 개)
+     * @return 조회된 상품 (순서 보장 안 됨, 없는 id 는 제외)
+     */
+    List<Product> getProductsByIds(@Param("ids") List<Integer> ids);
+
     /**
      * 상품 코드로 상세 조회
      * @param productCode
@@ -48,13 +57,51 @@ public interface ProductMapper {
     // 상품 등록
     int insertProduct(Product product);
 
+    /**
+     * 대량 등록용 상품 등록 (BATCH 실행기에서 사용)
+     * Oracle 드라이버는 batch 실행 시 생성된 id 를 돌려주지 않으므로 id 를 받아오지 않는다.
+     */
+    int insertProductForImport(Product product);
+
+    /**
+     * 이미 등록된 상품 코드 조회 (대량 등록 중복 검사)
+     * @param codes 확인할 상품 코드 (Oracle IN 절 제한으로 최대 1000 개)
+     * @return codes 중 DB 에 이미 존재하는 상품 코드
+     */
+    List<String> getExistingProductCodes(@Param("codes") List<String> codes);
+
     // 상품 수정
     int updateProduct(Product product);
 
     // 상품 삭제
     int deleteProduct(int id);
 
-    // 재고 업데이트
-    int updateStock(int id, int quantity);
+    /**
+     * 재고 증감 (조건부 UPDATE 한 문장으로 처리)
+     * 증감 후 재고가 0 미만이 되면 수정하지 않는다.
+     * @param id       상품 id
+     * @param quantity 증감 수량 (음수 = 차감)
+     * @return 수정된 행 수 (0 = 상품 없음 또는 재고 부족)
+     */
+    int updateStock(@Param("id") int id, @Param("quantity") int quantity);
+
+    /**
+     * 여러 상품 재고 한 번에 증감
+     * @param deltas 상품 id : 증감 수량 (최대 1000 개)
+     * @return 수정된 행 수 (deltas 개수보다 적으면 재고 부족 또는 없는 상품 포함)
+     */
+    int adjustStocks(@Param("deltas") Map<Integer, Integer> deltas);
+
+    // 상품 이미지 경로 수정
+    int updateProductImage(@Param("productCode") String productCode, @Param("imageUrl") String imageUrl);
+
+    /**
+     * 썸네일 경로 저장
+     * @param imageUrl 썸네일을 만든 원본 이미지 경로 (현재 image_url 과 다르면 수정하지 않는다.)
+     * @return 수정된 행 수
+     */
+    int updateProductImageVariants(@Param("productCode") String productCode,
+                                   @Param("imageUrl") String imageUrl,
+                                   @Param("imageVariants") String imageVariants);
 
 }
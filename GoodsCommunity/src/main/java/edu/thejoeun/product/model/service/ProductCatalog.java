@@ -0,0 +1,316 @@
+package edu.thejoeun.product.model.service;
+
+import edu.thejoeun.common.util.ResourceVersions;
+import edu.thejoeun.product.model.dto.Product;
+import edu.thejoeun.product.model.mapper.ProductMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 상품 카탈로그 메모리 스냅샷
+ *
+ * 상품 정보는 하루 몇 번 바뀌지 않는데 매장 화면 요청마다 DB 를 조회하고 있어
+ * 전체 상품을 메모리에 올려두고 조회는 메모리에서만 처리한다.
+ *
+ * 스냅샷은 만들어진 뒤 바뀌지 않는(immutable) 객체이고,
+ * 상품이 등록/수정/삭제되면 커밋 후 바뀐 상품만 다시 읽어 새 스냅샷을 만든 뒤 통째로 교체한다. (copy-on-write)
+ * 조회하는 쪽은 volatile 참조 하나만 읽으므로 잠금 없이 항상 완성된 스냅샷을 본다.
+ *
+ * 재고 변경(주문)은 상품 수정보다 훨씬 자주 일어나므로 따로 처리한다. (refreshStock)
+ * 요청 스레드는 커밋 후 상품 id 를 대기 목록에 넣기만 하고, 전용 스레드가 모인 상품을 한 번에 다시 읽어
+ * 정렬 없이 해당 상품만 교체한 스냅샷을 만든다. 재고를 쓰지 않는 색인은 다시 만들지 않는다.
+ * (반영 전 잠깐 동안은 이전 재고가 보일 수 있으며, ETag 버전은 반영한 뒤에 증가시킨다.)
+ *
+ * 스냅샷의 Product 객체는 여러 요청이 공유하므로 수정하지 말 것
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCatalog {
+
+    // 전체 상품 목록 정렬 : 등록일 최신순 (NULL 은 마지막), 같으면 id 큰 순
+    private static final Comparator<Product> LATEST_FIRST =
+            Comparator.comparing(Product::getCreatedAt, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                    .thenComparingInt(Product::getId)
+                    .reversed();
+
+    // Oracle IN 절 최대 1000 개 제한
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    private final ProductMapper productMapper;
+    private final ResourceVersions resourceVersions;
+    // 스냅샷이 바뀔 때 함께 갱신할 보조 자료구조 (검색 색인 등)
+    private final ObjectProvider<ProductCatalogListener> listeners;
+
+    private volatile Snapshot snapshot;
+
+    // 재고가 바뀌어 반영을 기다리는 상품 id
+    private final Set<Integer> stockChanged = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean stockRefreshScheduled = new AtomicBoolean();
+    private final ExecutorService stockRefresher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "product-catalog-stock");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * 현재 스냅샷 (처음 호출 시 DB 에서 전체 상품을 읽어 생성)
+     */
+    public Snapshot snapshot() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            s = reload();
+        }
+        return s;
+    }
+
+    /**
+     * DB 전체 상품으로 스냅샷 다시 생성
+     * @return 새 스냅샷
+     */
+    public synchronized Snapshot reload() {
+        Snapshot s = Snapshot.of(snapshot == null ? 1 : snapshot.version() + 1, productMapper.getAllProducts());
+        listeners.orderedStream().forEach(l -> l.onCatalogChange(s, null));
+        snapshot = s;
+        log.info("상품 카탈로그 스냅샷 생성 : {} 건, version {}", s.byId().size(), s.version());
+        return s;
+    }
+
+    /**
+     * 바뀐 상품만 DB 에서 다시 읽어 새 스냅샷으로 교체
+     * 트랜잭션 안에서 호출되면 커밋된 후에 반영한다.
+     * @param ids 등록/수정/삭제된 상품 id
+     */
+    public void refresh(Collection<Integer> ids) {
+        List<Integer> copy = List.copyOf(ids);
+        afterCommit(() -> refreshNow(copy));
+    }
+
+    /**
+     * 재고만 바뀐 상품 반영 (전용 스레드에서 모아서 처리)
+     * 트랜잭션 안에서 호출되면 커밋된 후에 대기 목록에 넣는다.
+     * 반영이 끝나면 PRODUCT_LIST 와 해당 상품의 ETag 버전을 증가시킨다.
+     * @param ids 재고가 바뀐 상품 id
+     */
+    public void refreshStock(Collection<Integer> ids) {
+        List<Integer> copy = List.copyOf(ids);
+        afterCommit(() -> {
+            stockChanged.addAll(copy);
+            if (stockRefreshScheduled.compareAndSet(false, true)) {
+                try {
+                    stockRefresher.execute(this::applyStockChanges);
+                } catch (RejectedExecutionException e) {
+                    // 서버 종료 중
+                    stockRefreshScheduled.set(false);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stockRefresher.shutdown();
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    // 실행 중 새로 들어온 상품은 다음 실행에서 처리된다.
+    private void applyStockChanges() {
+        stockRefreshScheduled.set(false);
+        List<Integer> ids = new ArrayList<>();
+        for (Integer id : stockChanged) {
+            if (stockChanged.remove(id)) {
+                ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        patchStock(ids);
+        String[] keys = new String[ids.size() + 1];
+        keys[0] = ResourceVersions.PRODUCT_LIST;
+        for (int i = 0; i < ids.size(); i++) {
+            keys[i + 1] = ResourceVersions.product(ids.get(i));
+        }
+        resourceVersions.bump(keys);
+    }
+
+    /*
+    재고만 바뀐 상품을 새 값으로 교체한 스냅샷 생성
+    재고는 정렬 기준이 아니고 판매 여부도 그대로이므로 목록 순서를 유지한 채 해당 상품만 바꾼다.
+    그 사이 다른 필드도 바뀌었으면(상품 수정과 겹친 경우) 일반 갱신으로 처리한다.
+     */
+    private synchronized void patchStock(List<Integer> ids) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        try {
+            Map<Integer, Product> patched = new HashMap<>();
+            for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size()));
+                for (Product p : productMapper.getProductsByIds(chunk)) {
+                    Product old = current.byId().get(p.getId());
+                    if (old == null || !sameExceptStock(old, p)) {
+                        refreshNow(ids);
+                        return;
+                    }
+                    if (old.getStockQuantity() != p.getStockQuantity()) {
+                        patched.put(p.getId(), p);
+                    }
+                }
+            }
+            if (patched.isEmpty()) {
+                return;
+            }
+            Snapshot s = current.patch(current.version() + 1, patched);
+            listeners.orderedStream().forEach(l -> l.onStockChange(s, patched.values()));
+            snapshot = s;
+        } catch (Exception e) {
+            log.error("상품 재고 갱신 실패, 전체 다시 읽기 : ", e);
+            reload();
+        }
+    }
+
+    // DB 에서 새로 읽은 상품(공유 전)의 재고만 잠시 맞춰서 비교
+    private static boolean sameExceptStock(Product old, Product fresh) {
+        int stock = fresh.getStockQuantity();
+        fresh.setStockQuantity(old.getStockQuantity());
+        boolean same = fresh.equals(old);
+        fresh.setStockQuantity(stock);
+        return same;
+    }
+
+    private synchronized void refreshNow(List<Integer> ids) {
+        if (snapshot == null) {
+            // 아직 한 번도 조회되지 않았다면 다음 조회 때 전체를 읽는다.
+            return;
+        }
+        try {
+            Map<Integer, Product> products = new HashMap<>(snapshot.byId());
+            List<Product> changed = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size()));
+                for (Product p : productMapper.getProductsByIds(chunk)) {
+                    products.put(p.getId(), p);
+                    changed.add(p);
+                }
+            }
+            Snapshot s = Snapshot.of(snapshot.version() + 1, products.values());
+            listeners.orderedStream().forEach(l -> l.onCatalogChange(s, changed));
+            snapshot = s;
+        } catch (Exception e) {
+            // 부분 반영에 실패하면 전체를 다시 읽는다.
+            log.error("상품 카탈로그 갱신 실패, 전체 다시 읽기 : ", e);
+            reload();
+        }
+    }
+
+    /**
+     * 상품 카탈로그 스냅샷 (immutable)
+     * @param version    스냅샷 버전 (교체될 때마다 1 증가)
+     * @param all        전체 상품 (최신순)
+     * @param byId       id -> 상품
+     * @param byCode     productCode -> 상품
+     * @param active     판매 중(is_active = 'Y') 상품 (최신순)
+     * @param byCategory 카테고리 -> 판매 중 상품 (최신순)
+     */
+    public record Snapshot(long version,
+                           List<Product> all,
+                           Map<Integer, Product> byId,
+                           Map<String, Product> byCode,
+                           List<Product> active,
+                           Map<String, List<Product>> byCategory) {
+
+        static Snapshot of(long version, Collection<Product> products) {
+            List<Product> all = new ArrayList<>(products);
+            all.sort(LATEST_FIRST);
+
+            Map<Integer, Product> byId = new HashMap<>();
+            Map<String, Product> byCode = new HashMap<>();
+            List<Product> active = new ArrayList<>();
+            Map<String, List<Product>> byCategory = new LinkedHashMap<>();
+            for (Product p : all) {
+                byId.put(p.getId(), p);
+                if (p.getProductCode() != null) {
+                    byCode.put(p.getProductCode(), p);
+                }
+                if ("Y".equals(p.getIsActive())) {
+                    active.add(p);
+                    if (p.getCategory() != null) {
+                        byCategory.computeIfAbsent(p.getCategory(), k -> new ArrayList<>()).add(p);
+                    }
+                }
+            }
+            Map<String, List<Product>> categories = new LinkedHashMap<>();
+            byCategory.forEach((k, v) -> categories.put(k, List.copyOf(v)));
+
+            return new Snapshot(version, List.copyOf(all), Map.copyOf(byId), Map.copyOf(byCode),
+                    List.copyOf(active), Map.copyOf(categories));
+        }
+
+        /**
+         * 일부 상품을 같은 위치에서 교체한 스냅샷 (정렬 기준, 판매 여부, 카테고리가 바뀌지 않은 경우만)
+         * @param version  새 스냅샷 버전
+         * @param replaced id -> 새 상품
+         */
+        Snapshot patch(long version, Map<Integer, Product> replaced) {
+            Map<Integer, Product> newById = new HashMap<>(byId);
+            Map<String, Product> newByCode = new HashMap<>(byCode);
+            Map<String, List<Product>> newByCategory = new LinkedHashMap<>(byCategory);
+            for (Product p : replaced.values()) {
+                newById.put(p.getId(), p);
+                if (p.getProductCode() != null) {
+                    newByCode.put(p.getProductCode(), p);
+                }
+                if (p.getCategory() != null && newByCategory.containsKey(p.getCategory())) {
+                    newByCategory.put(p.getCategory(), replace(byCategory.get(p.getCategory()), replaced));
+                }
+            }
+            return new Snapshot(version, replace(all, replaced), Map.copyOf(newById), Map.copyOf(newByCode),
+                    replace(active, replaced), Map.copyOf(newByCategory));
+        }
+
+        private static List<Product> replace(List<Product> products, Map<Integer, Product> replaced) {
+            List<Product> result = new ArrayList<>(products.size());
+            for (Product p : products) {
+                result.add(replaced.getOrDefault(p.getId(), p));
+            }
+            return List.copyOf(result);
+        }
+
+        public List<Product> category(String category) {
+            return byCategory.getOrDefault(category, List.of());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package edu.thejoeun.product.model.service;
+
+import edu.thejoeun.product.model.dto.Product;
+
+import java.util.Collection;
+
+/**
+ * 상품 카탈로그 스냅샷이 교체될 때 호출되는 리스너
+ * 검색 색인처럼 카탈로그를 기반으로 만드는 보조 자료구조를 함께 갱신할 때 구현한다.
+ */
+public interface ProductCatalogListener {
+
+    /**
+     * @param snapshot 새 스냅샷
+     * @param changed  바뀐 상품 (null 이면 전체를 다시 읽은 경우)
+     */
+    void onCatalogChange(ProductCatalog.Snapshot snapshot, Collection<Product> changed);
+
+    /**
+     * 재고만 바뀐 경우 (상품 순서, 판매 중 상품 목록, 재고 외 필드는 그대로)
+     * 재고를 사용하지 않는 자료구조는 다시 만들지 않도록 재정의한다. 기본은 onCatalogChange 와 같다.
+     * @param snapshot 새 스냅샷
+     * @param changed  재고가 바뀐 상품
+     */
+    default void onStockChange(ProductCatalog.Snapshot snapshot, Collection<Product> changed) {
+        onCatalogChange(snapshot, changed);
+    }
+}
@@ -0,0 +1,154 @@
+package edu.thejoeun.product.model.service;
+
+import edu.thejoeun.product.model.dto.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 상품 가격/재고 실시간 전송 (/topic/products/{id})
+ *
+ * 상품 상세 화면이 재고를 주기적으로 조회(polling)하는 대신 변경될 때만 받도록 한다.
+ * 카탈로그가 갱신될 때(상품 수정, 재고 변경 커밋 후) 이전 스냅샷과 가격/재고/판매 여부를 비교하고,
+ * 구독자가 있는 상품만 전송 대기 목록에 넣는다.
+ *
+ * 전송은 interval 마다 한 번, 상품별 마지막 값만 보낸다.
+ * (특가 시간처럼 재고가 초당 수십 번 바뀌어도 상품당 interval 에 1건)
+ */
+@Slf4j
+@Component
+public class ProductChangePublisher implements ProductCatalogListener {
+
+    private static final String DESTINATION_PREFIX = "/topic/products/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // 상품 id -> 구독 수
+    private final ConcurrentHashMap<Integer, Integer> subscribers = new ConcurrentHashMap<>();
+    // 세션 id -> (구독 id -> 상품 id), 구독 해제/연결 종료 시 구독 수 감소용
+    private final ConcurrentHashMap<String, Map<String, Integer>> sessions = new ConcurrentHashMap<>();
+    // 전송 대기 : 상품 id -> 최신 상품
+    private final ConcurrentHashMap<Integer, Product> pending = new ConcurrentHashMap<>();
+
+    private volatile ProductCatalog.Snapshot last;
+
+    public ProductChangePublisher(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @Override
+    public void onCatalogChange(ProductCatalog.Snapshot snapshot, Collection<Product> changed) {
+        ProductCatalog.Snapshot previous = last;
+        last = snapshot;
+        if (previous == null || subscribers.isEmpty()) {
+            return;
+        }
+        if (changed != null) {
+            for (Product p : changed) {
+                check(previous.byId().get(p.getId()), p);
+            }
+        } else {
+            // 전체를 다시 읽은 경우 구독 중인 상품만 비교
+            for (Integer id : subscribers.keySet()) {
+                check(previous.byId().get(id), snapshot.byId().get(id));
+            }
+        }
+    }
+
+    /**
+     * 상품별 마지막 변경 내용 전송
+     */
+    @Scheduled(fixedDelayString = "${product.live.interval-ms:500}")
+    public void flush() {
+        for (Integer id : pending.keySet()) {
+            // 꺼내는 사이 들어온 최신 값은 다음 주기에 전송된다.
+            Product p = pending.remove(id);
+            if (p == null) {
+                continue;
+            }
+            Map<String, Object> frame = new HashMap<>();
+            frame.put("productId", p.getId());
+            frame.put("price", p.getPrice());
+            frame.put("stockQuantity", p.getStockQuantity());
+            frame.put("isActive", p.getIsActive());
+            frame.put("timestamp", System.currentTimeMillis());
+            try {
+                messagingTemplate.convertAndSend(DESTINATION_PREFIX + p.getId(), frame);
+            } catch (Exception e) {
+                log.error("상품 변경 전송 실패 : {}", p.getId(), e);
+            }
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Integer productId = productId(accessor.getDestination());
+        if (productId == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        sessions.computeIfAbsent(accessor.getSessionId(), k -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), productId);
+        subscribers.merge(productId, 1, Integer::sum);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Integer> subscriptions = accessor.getSessionId() != null ? sessions.get(accessor.getSessionId()) : null;
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Integer productId = subscriptions.remove(accessor.getSubscriptionId());
+        if (productId != null) {
+            release(productId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Integer> subscriptions = sessions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    private void check(Product before, Product after) {
+        if (after == null || !subscribers.containsKey(after.getId())) {
+            return;
+        }
+        if (before == null
+                || before.getPrice() != after.getPrice()
+                || before.getStockQuantity() != after.getStockQuantity()
+                || !Objects.equals(before.getIsActive(), after.getIsActive())) {
+            pending.put(after.getId(), after);
+        }
+    }
+
+    private void release(int productId) {
+        subscribers.computeIfPresent(productId, (k, count) -> count <= 1 ? null : count - 1);
+    }
+
+    private Integer productId(String destination) {
+        if (destination == null || !destination.startsWith(DESTINATION_PREFIX)) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(destination.substring(DESTINATION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
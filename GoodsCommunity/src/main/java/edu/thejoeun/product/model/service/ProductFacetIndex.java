@@ -0,0 +1,173 @@
+package edu.thejoeun.product.model.service;
+
+import edu.thejoeun.product.model.dto.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 상품 필터(카테고리, 제조사, 가격대) 및 항목별 개수
+ *
+ * 필터 조건마다 GROUP BY 조회를 하는 대신, 판매 중 상품에 0 부터 번호(ordinal)를 매기고
+ * 필터 항목 값마다 해당 상품 번호의 BitSet 을 만들어 둔다.
+ * - 같은 필터 안의 여러 값 : OR   ex) 카테고리 = 의류 또는 문구
+ * - 서로 다른 필터끼리     : AND  ex) (의류 또는 문구) 그리고 10000-30000 원
+ * - 항목별 개수 : 해당 필터를 제외한 나머지 필터 결과와 항목 BitSet 의 AND -> cardinality()
+ *   (이미 선택한 필터 안의 다른 값을 골랐을 때의 개수를 보여주기 위함)
+ *
+ * 카탈로그가 바뀔 때마다 통째로 다시 만들어 교체한다.
+ */
+@Component
+public class ProductFacetIndex implements ProductCatalogListener {
+
+    public static final String CATEGORY = "category";
+    public static final String MANUFACTURER = "manufacturer";
+    public static final String PRICE = "price";
+
+    // 가격대 경계 (원) ex) 10000,30000 -> 0-10000, 10000-30000, 30000-
+    private final long[] priceBounds;
+    private volatile Facets facets = new Facets(List.of(), Map.of());
+
+    public ProductFacetIndex(@Value("${product.facet.price-bands:10000,30000,50000,100000}") long[] priceBounds) {
+        this.priceBounds = priceBounds.clone();
+        Arrays.sort(this.priceBounds);
+    }
+
+    @Override
+    public void onCatalogChange(ProductCatalog.Snapshot snapshot, Collection<Product> changed) {
+        List<Product> products = snapshot.active();
+        Map<String, BitSet> categories = new TreeMap<>();
+        Map<String, BitSet> manufacturers = new TreeMap<>();
+        Map<String, BitSet> prices = new LinkedHashMap<>();
+        for (int band = 0; band <= priceBounds.length; band++) {
+            prices.put(priceLabel(band), new BitSet(products.size()));
+        }
+        for (int i = 0; i < products.size(); i++) {
+            Product p = products.get(i);
+            if (p.getCategory() != null) {
+                categories.computeIfAbsent(p.getCategory(), k -> new BitSet()).set(i);
+            }
+            if (p.getManufacturer() != null) {
+                manufacturers.computeIfAbsent(p.getManufacturer(), k -> new BitSet()).set(i);
+            }
+            prices.get(priceLabel(priceBand(p.getPrice()))).set(i);
+        }
+        Map<String, Map<String, BitSet>> values = new LinkedHashMap<>();
+        values.put(CATEGORY, categories);
+        values.put(MANUFACTURER, manufacturers);
+        values.put(PRICE, prices);
+        facets = new Facets(products, values);
+    }
+
+    /*
+    재고만 바뀌면 판매 중 상품 순서와 필터 항목(카테고리, 제조사, 가격)은 그대로이므로
+    BitSet 은 유지하고 결과로 돌려줄 상품 목록만 새 스냅샷 것으로 바꾼다.
+     */
+    @Override
+    public void onStockChange(ProductCatalog.Snapshot snapshot, Collection<Product> changed) {
+        facets = new Facets(snapshot.active(), facets.values());
+    }
+
+    /**
+     * 필터 적용
+     * @param selected 필터 이름(category, manufacturer, price) -> 선택한 값 (비어있으면 해당 필터 미적용)
+     * @param offset   건너뛸 상품 수
+     * @param limit    조회할 상품 수
+     * @return 해당 페이지 상품 (최신순), 전체 결과 수, 필터별 항목 개수
+     */
+    public Result filter(Map<String, List<String>> selected, int offset, int limit) {
+        Facets f = facets;
+        int size = f.products().size();
+
+        // 필터별 선택 값 OR
+        Map<String, BitSet> perFacet = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, BitSet>> facet : f.values().entrySet()) {
+            List<String> values = selected.get(facet.getKey());
+            if (values == null || values.isEmpty()) {
+                continue;
+            }
+            BitSet union = new BitSet(size);
+            for (String value : values) {
+                BitSet bits = facet.getValue().get(value);
+                if (bits != null) {
+                    union.or(bits);
+                }
+            }
+            perFacet.put(facet.getKey(), union);
+        }
+
+        // 필터끼리 AND
+        BitSet matched = new BitSet(size);
+        matched.set(0, size);
+        perFacet.values().forEach(matched::and);
+
+        // 항목별 개수 : 자기 자신을 제외한 나머지 필터만 적용
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, BitSet>> facet : f.values().entrySet()) {
+            BitSet base = matched;
+            if (perFacet.containsKey(facet.getKey())) {
+                base = new BitSet(size);
+                base.set(0, size);
+                for (Map.Entry<String, BitSet> other : perFacet.entrySet()) {
+                    if (!other.getKey().equals(facet.getKey())) {
+                        base.and(other.getValue());
+                    }
+                }
+            }
+            Map<String, Integer> valueCounts = new LinkedHashMap<>();
+            for (Map.Entry<String, BitSet> value : facet.getValue().entrySet()) {
+                BitSet bits = (BitSet) value.getValue().clone();
+                bits.and(base);
+                valueCounts.put(value.getKey(), bits.cardinality());
+            }
+            counts.put(facet.getKey(), valueCounts);
+        }
+
+        List<Product> page = new ArrayList<>(Math.max(0, Math.min(limit, size)));
+        int skipped = 0;
+        for (int i = matched.nextSetBit(0); i >= 0 && page.size() < limit; i = matched.nextSetBit(i + 1)) {
+            if (skipped++ < offset) {
+                continue;
+            }
+            page.add(f.products().get(i));
+        }
+        return new Result(page, matched.cardinality(), counts);
+    }
+
+    private int priceBand(double price) {
+        int band = 0;
+        while (band < priceBounds.length && price >= priceBounds[band]) {
+            band++;
+        }
+        return band;
+    }
+
+    private String priceLabel(int band) {
+        long lower = band == 0 ? 0 : priceBounds[band - 1];
+        return band < priceBounds.length ? lower + "-" + priceBounds[band] : lower + "-";
+    }
+
+    /**
+     * @param products 판매 중 상품 (번호 = 목록 위치, 최신순)
+     * @param values   필터 이름 -> 항목 값 -> 해당 상품 번호 BitSet
+     */
+    private record Facets(List<Product> products, Map<String, Map<String, BitSet>> values) {
+    }
+
+    /**
+     * 필터 결과
+     * @param products   해당 페이지 상품
+     * @param totalCount 전체 결과 수
+     * @param facets     필터 이름 -> 항목 값 -> 상품 수
+     */
+    public record Result(List<Product> products, int totalCount, Map<String, Map<String, Integer>> facets) {
+    }
+}
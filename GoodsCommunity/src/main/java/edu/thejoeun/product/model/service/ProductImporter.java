@@ -0,0 +1,322 @@
+package edu.thejoeun.product.model.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.thejoeun.common.util.ResourceVersions;
+import edu.thejoeun.product.model.dto.Product;
+import edu.thejoeun.product.model.mapper.ProductMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 상품 대량 등록 (CSV / NDJSON)
+ *
+ * 상품마다 POST /api/product 를 호출하면 상품 1건당 코드 중복 조회 1번 + INSERT 1번 + 커밋 1번이 일어난다.
+ * 요청 본문을 한 줄씩 읽으면서(전체를 메모리에 올리지 않음) chunk-size 개씩 모아
+ * 1. chunk 의 상품 코드를 IN 조회 한 번으로 중복 검사하고
+ * 2. ExecutorType.BATCH 로 INSERT 를 묶어 한 번에 전송한 뒤 chunk 단위로 커밋한다.
+ *
+ * 실패한 행은 건너뛰고 행 번호와 사유를 결과에 담는다.
+ * chunk 저장 중 DB 오류가 나면 해당 chunk 만 롤백되고, 이미 커밋된 chunk 는 유지된다.
+ */
+@Slf4j
+@Component
+public class ProductImporter {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    // Oracle IN 절 최대 1000 개 제한
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    private final ProductMapper batchMapper;
+    private final SqlSessionTemplate batchSession;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductCatalog productCatalog;
+    private final ResourceVersions resourceVersions;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public ProductImporter(SqlSessionFactory sqlSessionFactory,
+                           TransactionTemplate transactionTemplate,
+                           ProductCatalog productCatalog,
+                           ResourceVersions resourceVersions,
+                           ObjectMapper objectMapper,
+                           @Value("${product.import.chunk-size:1000}") int chunkSize,
+                           @Value("${product.import.max-errors:1000}") int maxErrors) {
+        // 트랜잭션 안에서 실행기 종류를 바꿀 수 없으므로 대량 등록은 BATCH 전용 세션만 사용한다.
+        this.batchSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        this.batchMapper = batchSession.getMapper(ProductMapper.class);
+        this.transactionTemplate = transactionTemplate;
+        this.productCatalog = productCatalog;
+        this.resourceVersions = resourceVersions;
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * 상품 대량 등록
+     * @param in     요청 본문 (UTF-8)
+     * @param format csv : 첫 줄은 컬럼명 (productName 또는 product_name 형식)
+     *               ndjson : 한 줄에 상품 JSON 하나
+     * @return totalRows, insertedCount, failedCount, errors(row, productCode, message), errorsTruncated
+     */
+    public Map<String, Object> importProducts(InputStream in, String format) throws IOException {
+        long start = System.currentTimeMillis();
+        Report report = new Report();
+        // 파일 안에서 중복된 상품 코드 검사용
+        Set<String> seenCodes = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            boolean csv = FORMAT_CSV.equals(format);
+            Map<String, Integer> columns = null;
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (lineNo == 1 && line.startsWith("\uFEFF")) {
+                    line = line.substring(1);
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && columns == null) {
+                    columns = parseHeader(line);
+                    continue;
+                }
+                report.totalRows++;
+
+                Product product;
+                try {
+                    product = csv ? fromCsv(columns, line) : objectMapper.readValue(line, Product.class);
+                    validate(product);
+                } catch (JsonProcessingException e) {
+                    report.fail(lineNo, null, "형식 오류 : " + e.getOriginalMessage());
+                    continue;
+                } catch (Exception e) {
+                    report.fail(lineNo, null, "형식 오류 : " + e.getMessage());
+                    continue;
+                }
+                if (!seenCodes.add(product.getProductCode())) {
+                    report.fail(lineNo, product.getProductCode(), "파일 안에서 중복된 상품 코드입니다.");
+                    continue;
+                }
+                chunk.add(new Row(lineNo, product));
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk, report);
+                    chunk.clear();
+                }
+            }
+            if (csv && columns == null) {
+                throw new IllegalArgumentException("CSV 컬럼명(첫 줄)이 없습니다.");
+            }
+        } finally {
+            // 본문을 읽다 실패해도 이미 모은 행은 저장한다.
+            if (!chunk.isEmpty()) {
+                flush(chunk, report);
+            }
+            if (report.insertedCount > 0) {
+                // 대량 등록은 바뀐 상품이 많으므로 카탈로그 전체를 다시 읽는다.
+                productCatalog.reload();
+                resourceVersions.bump(ResourceVersions.PRODUCT_LIST);
+            }
+        }
+
+        log.info("상품 대량 등록 완료 : 전체 {} 건, 등록 {} 건, 실패 {} 건, {} ms",
+                report.totalRows, report.insertedCount, report.failedCount, System.currentTimeMillis() - start);
+        return report.toMap();
+    }
+
+    /*
+    chunk 하나를 트랜잭션 하나로 저장
+    중복 검사(IN 조회)와 INSERT 모두 BATCH 세션으로 실행한다. (조회 전에 쌓인 INSERT 는 먼저 전송된다.)
+     */
+    private void flush(List<Row> chunk, Report report) {
+        try {
+            List<Row> failed = new ArrayList<>();
+            Integer inserted = transactionTemplate.execute(status -> {
+                Set<String> existing = new HashSet<>();
+                for (int from = 0; from < chunk.size(); from += IN_CHUNK_SIZE) {
+                    List<String> codes = new ArrayList<>();
+                    for (Row row : chunk.subList(from, Math.min(from + IN_CHUNK_SIZE, chunk.size()))) {
+                        codes.add(row.product().getProductCode());
+                    }
+                    existing.addAll(batchMapper.getExistingProductCodes(codes));
+                }
+                int count = 0;
+                for (Row row : chunk) {
+                    if (existing.contains(row.product().getProductCode())) {
+                        failed.add(row);
+                        continue;
+                    }
+                    batchMapper.insertProductForImport(row.product());
+                    count++;
+                }
+                batchSession.flushStatements();
+                return count;
+            });
+            for (Row row : failed) {
+                report.fail(row.lineNo(), row.product().getProductCode(), "이미 존재하는 상품입니다.");
+            }
+            report.insertedCount += inserted != null ? inserted : 0;
+        } catch (Exception e) {
+            log.error("상품 대량 등록 chunk 저장 실패 ({} ~ {} 행) : ",
+                    chunk.get(0).lineNo(), chunk.get(chunk.size() - 1).lineNo(), e);
+            for (Row row : chunk) {
+                report.fail(row.lineNo(), row.product().getProductCode(), "DB 저장 실패로 함께 취소되었습니다.");
+            }
+        }
+    }
+
+    private void validate(Product p) {
+        if (p.getProductName() == null || p.getProductName().isBlank()) {
+            throw new IllegalArgumentException("상품명이 없습니다.");
+        }
+        if (p.getProductCode() == null || p.getProductCode().isBlank()) {
+            throw new IllegalArgumentException("상품 코드가 없습니다.");
+        }
+        if (p.getPrice() < 0) {
+            throw new IllegalArgumentException("가격은 0 이상이어야 합니다.");
+        }
+        if (p.getStockQuantity() < 0) {
+            throw new IllegalArgumentException("재고는 0 이상이어야 합니다.");
+        }
+        if (p.getIsActive() == null || p.getIsActive().isBlank()) {
+            p.setIsActive("Y");
+        } else if (!"Y".equals(p.getIsActive()) && !"N".equals(p.getIsActive())) {
+            throw new IllegalArgumentException("isActive 는 Y 또는 N 이어야 합니다.");
+        }
+        p.setProductCode(p.getProductCode().trim());
+    }
+
+    // 컬럼명 -> 위치 (대소문자, _ 무시 : product_name = productName)
+    private Map<String, Integer> parseHeader(String line) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsv(line);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("productname") || !columns.containsKey("productcode")) {
+            throw new IllegalArgumentException("CSV 에 productName, productCode 컬럼이 필요합니다.");
+        }
+        return columns;
+    }
+
+    private Product fromCsv(Map<String, Integer> columns, String line) {
+        List<String> values = splitCsv(line);
+        Product p = new Product();
+        p.setProductName(column(columns, values, "productname"));
+        p.setProductCode(column(columns, values, "productcode"));
+        p.setCategory(column(columns, values, "category"));
+        String price = column(columns, values, "price");
+        p.setPrice(price == null ? 0 : Double.parseDouble(price));
+        String stock = column(columns, values, "stockquantity");
+        p.setStockQuantity(stock == null ? 0 : Integer.parseInt(stock));
+        p.setDescription(column(columns, values, "description"));
+        p.setManufacturer(column(columns, values, "manufacturer"));
+        p.setImageUrl(column(columns, values, "imageurl"));
+        p.setIsActive(column(columns, values, "isactive"));
+        return p;
+    }
+
+    private String column(Map<String, Integer> columns, List<String> values, String name) {
+        Integer i = columns.get(name);
+        if (i == null || i >= values.size()) {
+            return null;
+        }
+        String v = values.get(i).trim();
+        return v.isEmpty() ? null : v;
+    }
+
+    /*
+    CSV 한 줄 분리 (RFC 4180)
+    쉼표가 포함된 값은 큰따옴표로 감싸고, 값 안의 큰따옴표는 "" 로 쓴다.
+    값 안의 줄바꿈은 지원하지 않는다. (한 줄 = 상품 하나)
+     */
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        sb.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    sb.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(sb.toString());
+                sb.setLength(0);
+            } else {
+                sb.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("닫히지 않은 큰따옴표가 있습니다.");
+        }
+        values.add(sb.toString());
+        return values;
+    }
+
+    private record Row(int lineNo, Product product) {
+    }
+
+    private class Report {
+        int totalRows;
+        int insertedCount;
+        int failedCount;
+        final List<Map<String, Object>> errors = new ArrayList<>();
+
+        void fail(int lineNo, String productCode, String message) {
+            failedCount++;
+            // 오류가 아주 많을 때 응답이 커지지 않도록 max-errors 개까지만 담는다.
+            if (errors.size() < maxErrors) {
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("row", lineNo);
+                error.put("productCode", productCode);
+                error.put("message", message);
+                errors.add(error);
+            }
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> res = new HashMap<>();
+            res.put("totalRows", totalRows);
+            res.put("insertedCount", insertedCount);
+            res.put("failedCount", failedCount);
+            res.put("errors", errors);
+            res.put("errorsTruncated", failedCount > errors.size());
+            return res;
+        }
+    }
+}
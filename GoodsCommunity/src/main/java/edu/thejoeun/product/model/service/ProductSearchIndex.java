@@ -0,0 +1,67 @@
+package edu.thejoeun.product.model.service;
+
+import edu.thejoeun.common.util.NgramIndex;
+import edu.thejoeun.product.model.dto.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * 상품 검색 색인 (상품명, 상품코드, 제조사)
+ *
+ * searchProducts 의 LIKE '%키워드%' 3개는 인덱스를 쓰지 못해 검색마다 상품 테이블 전체를 읽었다.
+ * 세 필드를 2글자(bigram) 단위로 색인해두고, 판매 중(is_active = 'Y') 상품만 색인에 남긴다.
+ * 가중치 : 상품명 3 / 상품코드 2 / 제조사 1
+ */
+@Component
+public class ProductSearchIndex implements ProductCatalogListener {
+
+    // 검색어는 최소 한 조각(2글자) 이상이어야 한다.
+    public static final int MIN_GRAM = 2;
+
+    // 전체를 다시 읽은 경우 새 색인을 만든 뒤 참조만 교체 (만드는 동안에도 검색은 기존 색인 사용)
+    // 갱신은 ProductCatalog 의 잠금 안에서만 호출된다.
+    private volatile NgramIndex index = newIndex();
+
+    @Override
+    public void onCatalogChange(ProductCatalog.Snapshot snapshot, Collection<Product> changed) {
+        if (changed == null) {
+            NgramIndex fresh = newIndex();
+            snapshot.active().forEach(p -> put(fresh, p));
+            index = fresh;
+            return;
+        }
+        NgramIndex current = index;
+        changed.forEach(p -> put(current, p));
+    }
+
+    // 색인 필드(상품명, 상품코드, 제조사)에 재고가 없으므로 다시 색인하지 않는다.
+    @Override
+    public void onStockChange(ProductCatalog.Snapshot snapshot, Collection<Product> changed) {
+    }
+
+    public NgramIndex.Result search(String keyword, int offset, int limit) {
+        return index.search(keyword, offset, limit);
+    }
+
+    /**
+     * 검색어가 최소 조각 길이를 만족하는지 확인
+     * 공백/특수문자를 제외한 단어 중 하나라도 MIN_GRAM 글자 이상이어야 한다.
+     * (MIN_GRAM 보다 짧은 단어는 검색에 사용하지 않는다.)
+     */
+    public boolean isSearchable(String keyword) {
+        return !index.queryGrams(keyword).isEmpty();
+    }
+
+    private static NgramIndex newIndex() {
+        return new NgramIndex(MIN_GRAM, 3, 2, 1);
+    }
+
+    private static void put(NgramIndex index, Product p) {
+        if ("Y".equals(p.getIsActive())) {
+            index.put(p.getId(), p.getProductName(), p.getProductCode(), p.getManufacturer());
+        } else {
+            index.remove(p.getId());
+        }
+    }
+}
@@ -2,13 +2,18 @@ package edu.thejoeun.product.model.service;
 
 import edu.thejoeun.member.model.dto.Member;
 import edu.thejoeun.product.model.dto.Product;
+import edu.thejoeun.product.model.dto.ProductSuggestion;
+import edu.thejoeun.product.model.dto.StockAdjustment;
 import jakarta.servlet.http.HttpSession;
 import org.apache.ibatis.annotations.Mapper;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public interface ProductService {
@@ -24,6 +29,20 @@ public interface ProductService {
      */
     Product getProductById(int id);
 
+    /**
+     * 상품 상세 조회 1회 기록 (자동완성 인기 점수)
+     * 304 응답에도 기록되도록 컨트롤러에서 상품 존재 확인 후, ETag 확인 전에 호출한다.
+     * @param id 존재하는 상품 id
+     */
+    void recordProductView(int id);
+
+    /**
+     * 여러 상품 id 로 한 번에 조회 (장바구니, 찜 목록)
+     * @param ids 상품 id 목록 (최대 1000 개)
+     * @return products : 요청 순서대로 조회된 상품, missingIds : 존재하지 않는 상품 id
+     */
+    Map<String, Object> getProductsByIds(List<Integer> ids);
+
     /**
      * 상품 코드로 상세 조회
      * @param productCode
@@ -39,11 +58,33 @@ public interface ProductService {
     List<Product> getProductsByCategory(String category);
 
     /**
-     * 상품명으로 조회
-     * @param keyword
-     * @return
+     * 상품명 / 상품코드 / 제조사 검색 (관련도순)
+     * @param keyword 검색어 (2글자 이상)
+     * @param page    페이지 번호
+     * @param size    한 페이지 상품 수
+     * @return products : 해당 페이지 상품 목록, totalCount : 전체 검색 결과 수
+     */
+    Map<String, Object> searchProducts(String keyword, int page, int size);
+
+    /**
+     * 검색창 자동완성 (상품명 / 상품코드 접두어, 인기순)
+     * @param prefix 입력 중인 검색어
+     * @param limit  최대 개수
+     * @return 자동완성 목록
      */
-    List<Product> searchProducts(String keyword);
+    List<ProductSuggestion> suggestProducts(String prefix, int limit);
+
+    /**
+     * 상품 필터 (같은 필터 안의 값은 OR, 필터끼리는 AND)
+     * @param categories    카테고리
+     * @param manufacturers 제조사
+     * @param prices        가격대 ex) 10000-30000, 100000-
+     * @param page          페이지 번호
+     * @param size          한 페이지 상품 수
+     * @return products, totalCount, facets(필터별 항목 개수)
+     */
+    Map<String, Object> filterProducts(List<String> categories, List<String> manufacturers,
+                                       List<String> prices, int page, int size);
 
     /*
     int  : 등록 데이터가 0부터 n개까지 저장 확인 가능하며, 다수 상품 등록 시 사용한다.
@@ -53,6 +94,14 @@ public interface ProductService {
     // 상품 등록
     void insertProduct(Product product);
 
+    /**
+     * 상품 대량 등록 (공급사 카탈로그 등)
+     * @param in     요청 본문
+     * @param format csv 또는 ndjson
+     * @return totalRows, insertedCount, failedCount, errors(행별 실패 사유)
+     */
+    Map<String, Object> importProducts(InputStream in, String format) throws IOException;
+
     // 상품 수정
     void updateProduct(Product product);
 
@@ -62,6 +111,13 @@ public interface ProductService {
     // 재고 업데이트
     void updateStock(int id, int quantity);
 
+    /**
+     * 여러 상품 재고 한 번에 증감 (전부 성공하거나 전부 취소)
+     * @param adjustments 상품 id, 증감 수량 목록
+     * @return 재고가 변경된 상품 수
+     */
+    int adjustStocks(List<StockAdjustment> adjustments);
+
     String updateProductImage(String productCode, MultipartFile file, HttpSession session) throws IOException;
 
 
@@ -1,21 +1,34 @@
 package edu.thejoeun.product.model.service;
 
 import edu.thejoeun.common.exception.ForbiddenException;
+import edu.thejoeun.common.util.NgramIndex;
 import edu.thejoeun.common.exception.UnauthorizedException;
 import edu.thejoeun.common.util.FileUploadService;
+import edu.thejoeun.common.util.ResourceVersions;
 import edu.thejoeun.common.util.SessionUtil;
+import edu.thejoeun.common.util.StripedLocks;
 import edu.thejoeun.member.model.dto.Member;
 import edu.thejoeun.product.model.dto.Product;
+import edu.thejoeun.product.model.dto.ProductSuggestion;
+import edu.thejoeun.product.model.dto.StockAdjustment;
 import edu.thejoeun.product.model.mapper.ProductMapper;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Slf4j
 @Service
@@ -24,6 +37,22 @@ public class ProductServiceImpl implements ProductService {
 
     private final ProductMapper productMapper;
     private final FileUploadService fileUploadService;
+    private final ResourceVersions resourceVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductCatalog productCatalog;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final ProductImporter productImporter;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductThumbnailService productThumbnailService;
+
+    // 한 번에 변경 가능한 최대 상품 수 (Oracle IN 절 1000 개 제한)
+    private static final int MAX_STOCK_ADJUSTMENTS = 1000;
+    // 한 번에 조회 가능한 최대 상품 수
+    private static final int MAX_BATCH_IDS = 1000;
+
+    // 상품별 재고 변경 잠금 - 같은 서버 안에서는 같은 상품 재고 변경이 요청 순서대로 처리된다.
+    private final StripedLocks stockLocks = new StripedLocks(64);
 
 
     /*
@@ -35,16 +64,19 @@ public class ProductServiceImpl implements ProductService {
     getAllProducts 자료형이 List<Product>이기 때문에
     변수 자료형 타입 또한 List<Product> 설정한다.
      */
+    /*
+    조회는 DB 대신 메모리 카탈로그 스냅샷(ProductCatalog)에서 처리한다.
+     */
     @Override
     public List<Product> getAllProducts() {
-        List<Product> p = productMapper.getAllProducts();
-        log.info("전체 상품 조회 : {}", p);
+        List<Product> p = productCatalog.snapshot().all();
+        log.info("전체 상품 조회 : {} 건", p.size());
         return p;
     }
 
     @Override
     public Product getProductById(int id) {
-        Product p = productMapper.getProductById(id);
+        Product p = productCatalog.snapshot().byId().get(id);
         if (p == null) {
             log.warn("상품 조회할 수 없습니다. ID : {}", id);
             throw new IllegalArgumentException("존재하지 않는 상품입니다.");
@@ -52,9 +84,49 @@ public class ProductServiceImpl implements ProductService {
         return p;
     }
 
+    @Override
+    public void recordProductView(int id) {
+        productSuggestIndex.recordView(id);
+    }
+
+    /**
+     * 여러 상품 한 번에 조회
+     * 상품 조회는 카탈로그 스냅샷에서 처리하므로 DB IN 조회 없이 id 개수만큼 메모리에서 찾는다.
+     * 같은 id 가 여러 번 들어오면 한 번만 담는다.
+     */
+    @Override
+    public Map<String, Object> getProductsByIds(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("조회할 상품 id 가 없습니다.");
+        }
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("한 번에 조회할 수 있는 상품은 " + MAX_BATCH_IDS + "개까지입니다.");
+        }
+        Map<Integer, Product> byId = productCatalog.snapshot().byId();
+        List<Product> products = new ArrayList<>(ids.size());
+        List<Integer> missingIds = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        for (Integer id : ids) {
+            if (id == null || !seen.add(id)) {
+                continue;
+            }
+            Product p = byId.get(id);
+            if (p != null) {
+                products.add(p);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        log.info("상품 여러 건 조회 : 요청 {} 건, 조회 {} 건, 없음 {} 건", ids.size(), products.size(), missingIds.size());
+        Map<String, Object> res = new HashMap<>();
+        res.put("products", products);
+        res.put("missingIds", missingIds);
+        return res;
+    }
+
     @Override
     public Product getProductByCode(String productCode) {
-        Product p = productMapper.getProductByCode(productCode);
+        Product p = productCatalog.snapshot().byCode().get(productCode);
         if (p == null) {
             log.warn("상품 조회할 수 없습니다. productCode : {}", productCode);
             throw new IllegalArgumentException("존재하지 않는 상품입니다.");
@@ -64,25 +136,88 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public List<Product> getProductsByCategory(String category) {
-        List<Product> p = productMapper.getProductsByCategory(category);
-        log.info("상품 카테고리 : {}", p);
+        List<Product> p = productCatalog.snapshot().category(category);
+        log.info("상품 카테고리 : {}, {} 건", category, p.size());
         return p;
     }
 
     /**
      * 상품 조회 - 키워드 검색
+     * DB LIKE 검색 대신 메모리 n-gram 색인(ProductSearchIndex)으로 검색하고 관련도순으로 정렬한다.
      * @param keyword trim() 사용해서 공백 제거 및 유효성 검사 필요하다.
      * @return
      */
     @Override
-    public List<Product> searchProducts(String keyword) {
+    public Map<String, Object> searchProducts(String keyword, int page, int size) {
         log.info("상품 검색 키워드 : {}", keyword);
+        Map<String, Object> res = new HashMap<>();
+        res.put("products", List.of());
+        res.put("totalCount", 0);
         if (keyword == null || keyword.trim().isEmpty()) {
             log.warn("검색어가 비어있습니다.");
-            return null;
+            return res;
         }
-        // 한 글자 검색 방지 기능 추가하기
-        return productMapper.searchProducts(keyword.trim());
+        // 한 글자 검색 방지 : 최소 한 단어는 2글자(bigram) 이상이어야 색인 조각과 비교할 수 있다.
+        if (!productSearchIndex.isSearchable(keyword)) {
+            log.warn("검색어가 너무 짧습니다. 최소 {}글자 : {}", ProductSearchIndex.MIN_GRAM, keyword);
+            return res;
+        }
+        int limit = Math.max(1, Math.min(size, 100));
+        int offset = (Math.max(page, 1) - 1) * limit;
+
+        // 스냅샷을 먼저 가져와야 첫 검색 때 색인이 만들어진다.
+        ProductCatalog.Snapshot snapshot = productCatalog.snapshot();
+        NgramIndex.Result result = productSearchIndex.search(keyword.trim(), offset, limit);
+
+        List<Product> products = new ArrayList<>(result.ids().size());
+        for (Integer id : result.ids()) {
+            Product p = snapshot.byId().get(id);
+            if (p != null) {
+                products.add(p);
+            }
+        }
+        res.put("products", products);
+        res.put("totalCount", result.total());
+        return res;
+    }
+
+    /**
+     * 상품 필터
+     * 메모리 BitSet 필터 색인(ProductFacetIndex)만 조회한다.
+     */
+    @Override
+    public Map<String, Object> filterProducts(List<String> categories, List<String> manufacturers,
+                                              List<String> prices, int page, int size) {
+        Map<String, List<String>> selected = new HashMap<>();
+        selected.put(ProductFacetIndex.CATEGORY, categories);
+        selected.put(ProductFacetIndex.MANUFACTURER, manufacturers);
+        selected.put(ProductFacetIndex.PRICE, prices);
+        int limit = Math.max(1, Math.min(size, 100));
+        int offset = (Math.max(page, 1) - 1) * limit;
+
+        // 스냅샷을 먼저 가져와야 첫 조회 때 색인이 만들어진다.
+        productCatalog.snapshot();
+        ProductFacetIndex.Result result = productFacetIndex.filter(selected, offset, limit);
+
+        Map<String, Object> res = new HashMap<>();
+        res.put("products", result.products());
+        res.put("totalCount", result.totalCount());
+        res.put("facets", result.facets());
+        return res;
+    }
+
+    /**
+     * 검색창 자동완성
+     * 키 입력마다 호출되므로 로그를 남기지 않고 메모리 색인만 조회한다.
+     */
+    @Override
+    public List<ProductSuggestion> suggestProducts(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        // 스냅샷을 먼저 가져와야 첫 조회 때 색인이 만들어진다.
+        productCatalog.snapshot();
+        return productSuggestIndex.suggest(prefix, Math.max(1, Math.min(limit, ProductSuggestIndex.MAX_LIMIT)));
     }
 
     @Override
@@ -102,6 +237,8 @@ public class ProductServiceImpl implements ProductService {
         int result = productMapper.insertProduct(product);
         if (result > 0) {
             log.info("상품 등록 완료 : {}, name ; {}", product.getId(), product.getProductName());
+            productCatalog.refresh(List.of(product.getId()));
+            resourceVersions.bump(ResourceVersions.PRODUCT_LIST, ResourceVersions.product(product.getId()));
         } else {
             log.error("상품 등록 실패 : {}", product.getProductName());
             throw new RuntimeException("상품 등록 실패했습니다.");
@@ -109,6 +246,16 @@ public class ProductServiceImpl implements ProductService {
 
     }
 
+    /**
+     * 상품 대량 등록
+     * chunk 단위로 트랜잭션을 나누어 커밋하므로 이 메서드에는 @Transactional 을 붙이지 않는다.
+     */
+    @Override
+    public Map<String, Object> importProducts(InputStream in, String format) throws IOException {
+        log.info("상품 대량 등록 시작 : format {}", format);
+        return productImporter.importProducts(in, format);
+    }
+
     @Override
     @Transactional
     public void updateProduct(Product product) {
@@ -126,6 +273,8 @@ public class ProductServiceImpl implements ProductService {
         int result = productMapper.updateProduct(product);
         if (result > 0) {
             log.info("상품 수정 완료 : {}", product.getId());
+            productCatalog.refresh(List.of(product.getId()));
+            resourceVersions.bump(ResourceVersions.PRODUCT_LIST, ResourceVersions.product(product.getId()));
         } else {
             log.error("상품 수정 실패 : {}", product.getId());
             throw new RuntimeException("상품 수정 실패했습니다.");
@@ -149,32 +298,68 @@ public class ProductServiceImpl implements ProductService {
         int result = productMapper.deleteProduct(id);
         if (result > 0) {
             log.info("상품 삭제 완료 : {}", id);
+            productCatalog.refresh(List.of(id));
+            resourceVersions.bump(ResourceVersions.PRODUCT_LIST, ResourceVersions.product(id));
         } else {
             log.error("상품 삭제 실패 : {}", id);
             throw new RuntimeException("상품 삭제 실패했습니다.");
         }
     }
 
+    /*
+    재고 증감은 조회 없이 조건부 UPDATE 한 문장으로 처리한다.
+    잠금을 커밋 이후까지 유지하기 위해 @Transactional 대신 잠금 안에서 TransactionTemplate 을 사용한다.
+     */
     @Override
-    @Transactional
     public void updateStock(int id, int quantity) {
         log.info("재고 업데이트 시작 : {}, {}", id, quantity);
-        Product existingProduct = productMapper.getProductById(id);
-        if (existingProduct == null) {
-            log.warn("상품 조회 불가 : {}", id);
-            throw new IllegalArgumentException("존재하지 않는 상품입니다.");
+        stockLocks.withLocks(new int[]{id}, () -> transactionTemplate.execute(status -> {
+            int result = productMapper.updateStock(id, quantity);
+            if (result == 0) {
+                // 수정된 행이 없으면 상품이 없거나 재고 부족
+                if (productMapper.getProductById(id) == null) {
+                    log.warn("상품 조회 불가 : {}", id);
+                    throw new IllegalArgumentException("존재하지 않는 상품입니다.");
+                }
+                log.warn("재고는 음수가 될 수 없습니다. ID : {}, 수정 : {}", id, quantity);
+                throw new IllegalArgumentException("재고가 부족합니다.");
+            }
+            // 카탈로그 반영과 ETag 버전 증가는 커밋 후 전용 스레드에서 모아서 처리
+            productCatalog.refreshStock(List.of(id));
+            return result;
+        }));
+        log.info("재고 업데이트 완료 : {}", id);
+    }
+
+    @Override
+    public int adjustStocks(List<StockAdjustment> adjustments) {
+        if (adjustments == null || adjustments.isEmpty()) {
+            throw new IllegalArgumentException("변경할 재고 정보가 없습니다.");
         }
-        int newStock = existingProduct.getStockQuantity() + quantity;
-        if (newStock < 0) {
-            log.warn("재고는 음수가 될 수 없습니다. 현재 : {}, 수정 : {}", existingProduct.getStockQuantity(), quantity);
+        // 같은 상품이 여러 번 들어오면 수량을 합치고, 상품 id 순으로 정렬 (DB 행 잠금 순서도 일정하게 유지)
+        Map<Integer, Integer> deltas = new TreeMap<>();
+        for (StockAdjustment a : adjustments) {
+            deltas.merge(a.getProductId(), a.getQuantity(), Integer::sum);
         }
-        int result = productMapper.deleteProduct(id);
-        if (result > 0) {
-            log.info("재고 업데이트 완료 : {}", id);
-        } else {
-            log.error("재고 업데이트 실패 : {}", id);
-            throw new RuntimeException("재고 업데이트 실패했습니다.");
+        if (deltas.size() > MAX_STOCK_ADJUSTMENTS) {
+            throw new IllegalArgumentException("한 번에 변경할 수 있는 상품은 " + MAX_STOCK_ADJUSTMENTS + "개까지입니다.");
         }
+        log.info("재고 일괄 업데이트 시작 : {} 건", deltas.size());
+
+        int[] ids = deltas.keySet().stream().mapToInt(Integer::intValue).toArray();
+        int result = stockLocks.withLocks(ids, () -> transactionTemplate.execute(status -> {
+            int updated = productMapper.adjustStocks(deltas);
+            if (updated != deltas.size()) {
+                // 하나라도 실패하면 전체 취소 (예외 발생 시 롤백)
+                log.warn("재고 일괄 업데이트 실패 - 요청 : {}, 성공 : {}", deltas.size(), updated);
+                throw new IllegalArgumentException("재고가 부족하거나 존재하지 않는 상품이 포함되어 있습니다.");
+            }
+            // 카탈로그 반영과 ETag 버전 증가는 커밋 후 전용 스레드에서 모아서 처리
+            productCatalog.refreshStock(deltas.keySet());
+            return updated;
+        }));
+        log.info("재고 일괄 업데이트 완료 : {} 건", result);
+        return result;
     }
 
     @Override
@@ -193,7 +378,12 @@ public class ProductServiceImpl implements ProductService {
             throw new IllegalArgumentException("파일 크기는 5MB를 초과할 수 없습니다.");
         }
         String imageUrl = fileUploadService.uploadProductImage(file);
+        Product product = getProductByCode(productCode);
         productMapper.updateProductImage(productCode, imageUrl);
+        productCatalog.refresh(List.of(product.getId()));
+        resourceVersions.bump(ResourceVersions.PRODUCT_LIST, ResourceVersions.product(product.getId()));
+        // 목록용 썸네일은 커밋 후 백그라운드에서 생성
+        productThumbnailService.generate(product.getId(), productCode, imageUrl);
         log.info("제품 이미지 DB 업데이트 완료 - 제품번호 : {}", productCode);
         return imageUrl;
     }
@@ -0,0 +1,245 @@
+package edu.thejoeun.product.model.service;
+
+import edu.thejoeun.product.model.dto.Product;
+import edu.thejoeun.product.model.dto.ProductSuggestion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 상품 검색창 자동완성 (접두어 검색)
+ *
+ * 판매 중 상품의 상품명, 상품명 안의 각 단어부터 시작하는 부분, 상품코드를
+ * 정규화(NFKC, 소문자, 공백 하나로)한 뒤 정렬된 배열로 만들어 둔다.
+ * ex) "무선 블루투스 이어폰" -> "무선 블루투스 이어폰", "블루투스 이어폰", "이어폰"
+ *
+ * 조회는 이진 탐색으로 접두어가 시작하는 위치를 찾은 뒤 접두어가 일치하는 동안만 읽고,
+ * 그 중 인기(상세 조회 수)가 높은 순으로 limit 개를 고른다. DB 는 사용하지 않는다.
+ *
+ * 1~2 글자 접두어는 일치하는 키가 카탈로그 대부분이라 범위를 모두 읽으면 전체를 읽는 것과 같으므로
+ * 배열을 만들 때 접두어별 인기 상위 MAX_LIMIT 개를 미리 계산해 두고 그대로 반환한다.
+ *
+ * 배열은 카탈로그가 바뀔 때, 그리고 인기 점수가 바뀌었을 때 주기적으로 통째로 다시 만들어 교체한다.
+ */
+@Slf4j
+@Component
+public class ProductSuggestIndex implements ProductCatalogListener {
+
+    // 인기 점수 내림차순, 같으면 상품명 순
+    private static final Comparator<Entry> ORDER =
+            Comparator.comparingLong(Entry::weight).reversed()
+                    .thenComparing(e -> e.product().getProductName(), Comparator.nullsLast(Comparator.naturalOrder()));
+
+    // 한 번에 반환하는 최대 개수
+    public static final int MAX_LIMIT = 20;
+
+    // 이 길이 이하의 접두어는 상위 목록을 미리 계산
+    private static final int PRECOMPUTED_PREFIX_LENGTH = 2;
+
+    // 상품 id -> 상세 조회 수 (서버 시작 이후)
+    private final ConcurrentHashMap<Integer, LongAdder> views = new ConcurrentHashMap<>();
+    private volatile boolean viewsChanged;
+
+    private volatile ProductCatalog.Snapshot source;
+    private volatile Suggestions suggestions = Suggestions.EMPTY;
+
+    @Override
+    public void onCatalogChange(ProductCatalog.Snapshot snapshot, Collection<Product> changed) {
+        source = snapshot;
+        rebuild(snapshot);
+    }
+
+    // 자동완성 키와 결과에는 재고가 없으므로 다시 만들지 않는다.
+    @Override
+    public void onStockChange(ProductCatalog.Snapshot snapshot, Collection<Product> changed) {
+        source = snapshot;
+    }
+
+    /**
+     * 상품 상세 조회 1회 반영 (자동완성 인기 점수)
+     */
+    public void recordView(int productId) {
+        views.computeIfAbsent(productId, k -> new LongAdder()).increment();
+        viewsChanged = true;
+    }
+
+    /**
+     * 인기 점수가 바뀌었으면 자동완성 배열을 다시 만든다.
+     */
+    @Scheduled(fixedDelayString = "${product.suggest.rebuild-interval-ms:60000}")
+    public void refreshWeights() {
+        ProductCatalog.Snapshot s = source;
+        if (s == null || !viewsChanged) {
+            return;
+        }
+        viewsChanged = false;
+        rebuild(s);
+    }
+
+    /**
+     * 접두어로 시작하는 상품 조회
+     * @param prefix 입력 중인 검색어
+     * @param limit  최대 개수
+     * @return 인기순 자동완성 목록
+     */
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        String p = normalize(prefix);
+        if (p.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Suggestions s = suggestions;
+        if (p.length() <= PRECOMPUTED_PREFIX_LENGTH) {
+            Entry[] top = s.topByPrefix().getOrDefault(p, new Entry[0]);
+            return toSuggestions(Arrays.asList(top).subList(0, Math.min(limit, top.length)));
+        }
+        int from = s.lowerBound(p);
+
+        // 인기 점수 상위 limit 개만 남기는 min-heap
+        PriorityQueue<Entry> top = new PriorityQueue<>(limit + 1, ORDER.reversed());
+        Set<Integer> seen = new HashSet<>();
+        for (int i = from; i < s.keys.length && s.keys[i].startsWith(p); i++) {
+            Entry e = s.entries[i];
+            if (!seen.add(e.product().getId())) {
+                continue;
+            }
+            top.offer(e);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Entry> sorted = new ArrayList<>(top);
+        sorted.sort(ORDER);
+        return toSuggestions(sorted);
+    }
+
+    private static List<ProductSuggestion> toSuggestions(List<Entry> entries) {
+        List<ProductSuggestion> result = new ArrayList<>(entries.size());
+        for (Entry e : entries) {
+            Product product = e.product();
+            result.add(new ProductSuggestion(product.getId(), product.getProductName(),
+                    product.getProductCode(), product.getCategory()));
+        }
+        return result;
+    }
+
+    private synchronized void rebuild(ProductCatalog.Snapshot snapshot) {
+        List<String> keys = new ArrayList<>();
+        List<Entry> entries = new ArrayList<>();
+        for (Product p : snapshot.active()) {
+            LongAdder v = views.get(p.getId());
+            Entry entry = new Entry(p, v != null ? v.sum() : 0);
+
+            String name = normalize(p.getProductName());
+            if (!name.isEmpty()) {
+                keys.add(name);
+                entries.add(entry);
+                // 단어 중간부터 입력해도 찾을 수 있도록 각 단어 시작 위치도 키로 추가
+                for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1)) {
+                    keys.add(name.substring(i + 1));
+                    entries.add(entry);
+                }
+            }
+            String code = normalize(p.getProductCode());
+            if (!code.isEmpty()) {
+                keys.add(code);
+                entries.add(entry);
+            }
+        }
+
+        Integer[] order = new Integer[keys.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(keys::get));
+
+        String[] sortedKeys = new String[order.length];
+        Entry[] sortedEntries = new Entry[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedKeys[i] = keys.get(order[i]);
+            sortedEntries[i] = entries.get(order[i]);
+        }
+        suggestions = new Suggestions(sortedKeys, sortedEntries, topByPrefix(keys, entries));
+        log.debug("자동완성 색인 생성 : 키 {} 개, 카탈로그 version {}", sortedKeys.length, snapshot.version());
+    }
+
+    /*
+    짧은 접두어별 인기 상위 MAX_LIMIT 개
+    (키, 상품) 쌍을 인기순으로 한 번 정렬한 뒤 차례로 각 접두어 목록에 넣으므로
+    목록은 이미 인기순이고, 가득 찬 접두어는 더 넣지 않는다.
+     */
+    private static Map<String, Entry[]> topByPrefix(List<String> keys, List<Entry> entries) {
+        Integer[] byWeight = new Integer[keys.size()];
+        for (int i = 0; i < byWeight.length; i++) {
+            byWeight[i] = i;
+        }
+        Arrays.sort(byWeight, Comparator.comparing(entries::get, ORDER));
+
+        Map<String, List<Entry>> lists = new HashMap<>();
+        for (int i : byWeight) {
+            String key = keys.get(i);
+            Entry entry = entries.get(i);
+            for (int len = 1; len <= Math.min(PRECOMPUTED_PREFIX_LENGTH, key.length()); len++) {
+                List<Entry> list = lists.computeIfAbsent(key.substring(0, len), k -> new ArrayList<>());
+                // 같은 상품이 여러 키(상품명, 단어, 상품코드)로 들어오면 한 번만
+                if (list.size() < MAX_LIMIT && !list.contains(entry)) {
+                    list.add(entry);
+                }
+            }
+        }
+        Map<String, Entry[]> result = new HashMap<>(lists.size() * 2);
+        lists.forEach((prefix, list) -> result.put(prefix, list.toArray(new Entry[0])));
+        return result;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+
+    private record Entry(Product product, long weight) {
+    }
+
+    /**
+     * 정렬된 키 배열과 같은 위치의 상품 (immutable)
+     */
+    private record Suggestions(String[] keys, Entry[] entries, Map<String, Entry[]> topByPrefix) {
+
+        static final Suggestions EMPTY = new Suggestions(new String[0], new Entry[0], Map.of());
+
+        // prefix 이상인 첫 번째 키 위치
+        int lowerBound(String prefix) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid].compareTo(prefix) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
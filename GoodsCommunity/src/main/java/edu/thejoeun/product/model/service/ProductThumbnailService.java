@@ -0,0 +1,284 @@
+package edu.thejoeun.product.model.service;
+
+import edu.thejoeun.common.util.FileUploadService;
+import edu.thejoeun.common.util.ResourceVersions;
+import edu.thejoeun.product.model.mapper.ProductMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상품 이미지 썸네일(가로 크기 고정 축소본) 생성
+ *
+ * 상품 이미지는 최대 5MB 원본 그대로 저장되어, 작은 카드만 그리는 목록 화면도 원본을 내려받았다.
+ * 업로드가 커밋된 뒤 전용 스레드에서 설정된 가로 크기(ex. 160 / 480 / 960 px)별 축소본을 만들고
+ * 경로를 product.image_variants 에 저장한다.
+ *
+ * 축소본 파일명 : 원본파일명_w가로크기.jpg (투명 배경이 있으면 .png)
+ * 원본보다 큰 크기는 만들지 않는다.
+ *
+ * 작업 큐는 크기 제한이 있으며, 가득 차면 요청 스레드(Tomcat)에서 직접 축소하지 않고
+ * 상품별로 보류해 두었다가 retry-interval 마다 큐에 여유가 있는 만큼 다시 넣는다.
+ * (같은 상품이 다시 업로드되면 마지막 이미지만 남긴다.)
+ */
+@Slf4j
+@Component
+public class ProductThumbnailService {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final ProductMapper productMapper;
+    private final FileUploadService fileUploadService;
+    private final ProductCatalog productCatalog;
+    private final ResourceVersions resourceVersions;
+    private final int[] widths;
+    private final ThreadPoolExecutor executor;
+    // 큐가 가득 차서 보류된 작업 : 상품 코드 -> 작업
+    private final ConcurrentHashMap<String, Task> deferred = new ConcurrentHashMap<>();
+
+    public ProductThumbnailService(ProductMapper productMapper,
+                                   FileUploadService fileUploadService,
+                                   ProductCatalog productCatalog,
+                                   ResourceVersions resourceVersions,
+                                   @Value("${product.image.thumbnail-widths:160,480,960}") int[] widths,
+                                   @Value("${product.image.thumbnail-threads:2}") int threads,
+                                   @Value("${product.image.thumbnail-queue-capacity:100}") int queueCapacity) {
+        this.productMapper = productMapper;
+        this.fileUploadService = fileUploadService;
+        this.productCatalog = productCatalog;
+        this.resourceVersions = resourceVersions;
+        this.widths = widths.clone();
+        Arrays.sort(this.widths);
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "product-thumbnail-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * 썸네일 생성 요청
+     * 트랜잭션 안에서 호출되면 커밋된 후에 시작한다. (커밋 전 image_url 로 작업하지 않도록)
+     * @param productId   상품 id
+     * @param productCode 상품 코드
+     * @param imageUrl    원본 이미지 경로 (/product_images/파일명)
+     */
+    public void generate(int productId, String productCode, String imageUrl) {
+        Runnable task = () -> submit(new Task(productId, productCode, imageUrl), false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * 보류된 작업을 큐에 여유가 있는 만큼 다시 넣는다.
+     */
+    @Scheduled(fixedDelayString = "${product.image.thumbnail-retry-interval-ms:30000}")
+    public void retryDeferred() {
+        for (Map.Entry<String, Task> entry : deferred.entrySet()) {
+            Task task = entry.getValue();
+            // 그 사이 새 이미지로 다시 보류되었으면 새 작업은 남겨둔다.
+            if (!deferred.remove(entry.getKey(), task)) {
+                continue;
+            }
+            if (!submit(task, true)) {
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /*
+    큐가 가득 차면 보류 목록에 넣고 false 반환
+    새 업로드는 같은 상품의 보류 작업을 교체하고,
+    다시 넣는 작업은 그 사이 더 최근 이미지가 보류되었으면 버린다.
+     */
+    private boolean submit(Task task, boolean retry) {
+        try {
+            executor.execute(() -> run(task.productId(), task.productCode(), task.imageUrl()));
+            return true;
+        } catch (RejectedExecutionException e) {
+            if (retry) {
+                deferred.putIfAbsent(task.productCode(), task);
+            } else {
+                deferred.put(task.productCode(), task);
+                log.warn("썸네일 작업 대기열이 가득 차 보류합니다 : {} (보류 {} 건)", task.imageUrl(), deferred.size());
+            }
+            return false;
+        }
+    }
+
+    private void run(int productId, String productCode, String imageUrl) {
+        long start = System.currentTimeMillis();
+        try {
+            Path original = fileUploadService.getProductImagePath(imageUrl);
+            List<String> variants = createThumbnails(original, imageUrl);
+            if (variants.isEmpty()) {
+                return;
+            }
+            int updated = productMapper.updateProductImageVariants(productCode, imageUrl, String.join(",", variants));
+            if (updated > 0) {
+                productCatalog.refresh(List.of(productId));
+                resourceVersions.bump(ResourceVersions.PRODUCT_LIST, ResourceVersions.product(productId));
+            }
+            log.info("상품 썸네일 생성 완료 : {} -> {} 개, {} ms",
+                    imageUrl, variants.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // 썸네일이 없으면 화면은 원본 이미지를 사용하므로 실패해도 업로드는 유지한다.
+            log.error("상품 썸네일 생성 실패 : {}", imageUrl, e);
+        }
+    }
+
+    private List<String> createThumbnails(Path original, String imageUrl) throws IOException {
+        BufferedImage source = read(original, widths[widths.length - 1]);
+        if (source == null) {
+            log.warn("썸네일을 만들 수 없는 이미지 형식입니다 : {}", imageUrl);
+            return List.of();
+        }
+        boolean alpha = source.getColorModel().hasAlpha();
+        String extension = alpha ? "png" : "jpg";
+        String baseUrl = imageUrl.substring(0, imageUrl.lastIndexOf('.') > imageUrl.lastIndexOf('/')
+                ? imageUrl.lastIndexOf('.') : imageUrl.length());
+
+        List<String> variants = new ArrayList<>();
+        // 큰 크기부터 만들고, 다음 크기는 직전 축소본에서 다시 줄인다. (원본에서 매번 줄이는 것보다 빠르다.)
+        BufferedImage current = source;
+        for (int i = widths.length - 1; i >= 0; i--) {
+            int width = widths[i];
+            if (width >= source.getWidth()) {
+                continue;
+            }
+            current = resize(current, width, alpha);
+            String url = baseUrl + "_w" + width + "." + extension;
+            write(current, fileUploadService.getProductImagePath(url), extension);
+            variants.add(0, url);
+        }
+        return variants;
+    }
+
+    /*
+    원본 읽기
+    큰 사진은 전체 해상도로 풀면 수십 MB 메모리를 쓰므로,
+    가장 큰 썸네일의 2배보다 크면 읽으면서 픽셀을 건너뛰어(subsampling) 작게 읽는다.
+     */
+    private BufferedImage read(Path path, int maxWidth) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int step = Math.max(1, reader.getWidth(0) / (maxWidth * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /*
+    가로 width 로 축소 (세로는 비율 유지)
+    한 번에 많이 줄이면 계단 현상이 생기므로 절반씩 나누어 줄인다.
+     */
+    private BufferedImage resize(BufferedImage image, int width, boolean alpha) {
+        BufferedImage result = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(1, (int) Math.round((double) image.getHeight() * w / image.getWidth()));
+            BufferedImage next = new BufferedImage(w, h, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(result, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            result = next;
+        } while (w > width);
+        return result;
+    }
+
+    // 임시 파일에 쓴 뒤 이름을 바꿔, 쓰는 중인 파일이 응답되지 않도록 한다.
+    private void write(BufferedImage image, Path target, String extension) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), "thumb-", ".tmp");
+        try {
+            if ("jpg".equals(extension)) {
+                ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+                try (ImageOutputStream out = ImageIO.createImageOutputStream(tmp.toFile())) {
+                    ImageWriteParam param = writer.getDefaultWriteParam();
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(JPEG_QUALITY);
+                    writer.setOutput(out);
+                    writer.write(null, new IIOImage(image, null, null), param);
+                } finally {
+                    writer.dispose();
+                }
+            } else {
+                ImageIO.write(image, extension, tmp.toFile());
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private record Task(int productId, String productCode, String imageUrl) {
+    }
+}
@@ -0,0 +1,240 @@
+package edu.thejoeun.common.util;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MailDispatcher 테스트
+ * 실제 메일 서버 대신 같은 프로세스 안에서 동작하는 간단한 SMTP 서버(SmtpStub)로 발송한다.
+ */
+@Slf4j
+class MailDispatcherTest {
+
+    private SmtpStub smtp;
+    private SimpleMeterRegistry registry;
+    private MailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new SmtpStub();
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        smtp.close();
+    }
+
+    @Test
+    void sendsQueuedMailsAndRetriesTransientFailures() throws Exception {
+        // 처음 2번은 451 (일시적 오류) 응답
+        smtp.failNext(2);
+        dispatcher = new MailDispatcher(mailSender(), registry, 2, 100, 3, 50, 5);
+
+        int count = 10;
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            assertTrue(dispatcher.submit("user" + i + "@test.com", message("user" + i + "@test.com")));
+        }
+        long submitMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        int queueDepth = dispatcher.getQueueSize();
+
+        for (int i = 0; i < count; i++) {
+            awaitState("user" + i + "@test.com", MailDispatcher.State.SENT);
+        }
+
+        assertEquals(count, smtp.received());
+        assertEquals(count, registry.get("mail.sent").counter().count());
+        assertEquals(2, registry.get("mail.retried").counter().count());
+        assertEquals(0, registry.get("mail.queue.size").gauge().value());
+
+        Timer send = registry.get("mail.send.latency").timer();
+        Timer delivery = registry.get("mail.delivery.latency").timer();
+        // 발송 시도마다 send, 성공한 메일마다 delivery 1건
+        assertEquals(count + 2, send.count());
+        assertEquals(count, delivery.count());
+        // 재시도한 메일은 backoff(50 ms) 만큼 기다린 뒤 발송되고, 발송 1회는 전체 소요 시간보다 길 수 없다.
+        assertTrue(delivery.max(TimeUnit.MILLISECONDS) >= 50);
+        assertTrue(send.max(TimeUnit.MILLISECONDS) <= delivery.max(TimeUnit.MILLISECONDS));
+        log.debug("submit {} mails : {} us, queue depth after submit : {}", count, submitMicros, queueDepth);
+        log.debug("mail.send.latency : count {}, mean {} ms, max {} ms",
+                send.count(), send.mean(TimeUnit.MILLISECONDS), send.max(TimeUnit.MILLISECONDS));
+        log.debug("mail.delivery.latency : count {}, mean {} ms, max {} ms",
+                delivery.count(), delivery.mean(TimeUnit.MILLISECONDS), delivery.max(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void rejectsWhenQueueIsFullAndFailsAfterMaxAttempts() throws Exception {
+        smtp.delayMs(300);
+        dispatcher = new MailDispatcher(mailSender(), registry, 1, 1, 2, 50, 5);
+
+        // 1건 발송 중, 1건 대기 -> 3번째는 거절
+        assertTrue(dispatcher.submit("a@test.com", message("a@test.com")));
+        assertTrue(dispatcher.submit("b@test.com", message("b@test.com")));
+        assertFalse(dispatcher.submit("c@test.com", message("c@test.com")));
+        assertEquals(MailDispatcher.State.FAILED, dispatcher.status("c@test.com").state());
+        assertEquals(1, registry.get("mail.rejected").counter().count());
+
+        awaitState("a@test.com", MailDispatcher.State.SENT);
+        awaitState("b@test.com", MailDispatcher.State.SENT);
+
+        // 계속 실패하면 max-attempts 후 FAILED
+        smtp.delayMs(0);
+        smtp.failNext(2);
+        assertTrue(dispatcher.submit("d@test.com", message("d@test.com")));
+        awaitState("d@test.com", MailDispatcher.State.FAILED);
+        assertEquals(2, dispatcher.status("d@test.com").attempts());
+        assertEquals(1, registry.get("mail.failed").counter().count());
+    }
+
+    private JavaMailSenderImpl mailSender() {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(smtp.port());
+        sender.setDefaultEncoding("UTF-8");
+        return sender;
+    }
+
+    private MimeMessagePreparator message(String to) {
+        return mimeMessage -> {
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+            helper.setFrom("noreply@test.com");
+            helper.setTo(to);
+            helper.setSubject("회원가입 인증번호 입니다.");
+            helper.setText("<p>인증번호 : <b>Ab3dE9</b></p>", true);
+        };
+    }
+
+    private void awaitState(String key, MailDispatcher.State expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            MailDispatcher.Status status = dispatcher.status(key);
+            if (status != null && status.state() == expected) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError(key + " 상태가 " + expected + " 가 되지 않았습니다 : " + dispatcher.status(key));
+    }
+
+    /**
+     * 테스트용 SMTP 서버 (받은 메일 수만 센다)
+     * failNext(n) : 다음 n 번의 MAIL FROM 에 451 응답
+     * delayMs(ms) : 메일 본문을 받은 후 응답 전 대기 (느린 메일 서버)
+     */
+    static class SmtpStub implements AutoCloseable {
+
+        private final ServerSocket server = new ServerSocket(0);
+        private final AtomicInteger received = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile long delayMs;
+
+        SmtpStub() throws IOException {
+            Thread acceptor = new Thread(this::accept, "smtp-stub");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        int received() {
+            return received.get();
+        }
+
+        void failNext(int n) {
+            failures.set(n);
+        }
+
+        void delayMs(long ms) {
+            delayMs = ms;
+        }
+
+        private void accept() {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    Thread t = new Thread(() -> handle(socket), "smtp-stub-session");
+                    t.setDaemon(true);
+                    t.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void handle(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                 PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+                reply(out, "220 localhost ESMTP stub");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                    switch (command) {
+                        case "MAIL" -> {
+                            if (failures.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0) {
+                                reply(out, "451 temporary failure");
+                            } else {
+                                reply(out, "250 OK");
+                            }
+                        }
+                        case "DATA" -> {
+                            reply(out, "354 end with .");
+                            while ((line = in.readLine()) != null && !line.equals(".")) {
+                                // 본문은 저장하지 않는다.
+                            }
+                            if (delayMs > 0) {
+                                Thread.sleep(delayMs);
+                            }
+                            received.incrementAndGet();
+                            reply(out, "250 OK queued");
+                        }
+                        case "QUIT" -> {
+                            reply(out, "221 bye");
+                            return;
+                        }
+                        default -> reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException | InterruptedException e) {
+                // 연결 종료
+            }
+        }
+
+        private void reply(PrintWriter out, String line) {
+            out.print(line + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package edu.the.joeun.common.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 비밀번호 암호화 / 검증 (BCrypt)
+ *
+ * BCrypt 는 일부러 느리게 만든 해시라서 (cost 10 기준 수십 ms) 요청 스레드에서 바로 실행하면
+ * 로그인이 몰릴 때 모든 코어를 차지해 다른 API 까지 느려진다.
+ *
+ * - 계산은 크기 제한이 있는 전용 스레드 풀에서만 실행한다. (동시에 threads 개까지만 CPU 사용)
+ *   대기열이 가득 차거나 timeout 안에 끝나지 않으면 RejectedExecutionException 을 던진다.
+ * - cost 를 설정하지 않으면(0) 서버 시작 시 한 번 측정해서 target-ms 에 가장 가까운 cost 를 고른다.
+ *   (cost 가 1 오르면 계산 시간은 2배, min-cost ~ max-cost 범위)
+ * - 저장된 해시의 cost 가 현재 cost 와 다르면 needsRehash() 가 true 이고,
+ *   로그인 성공 후 rehash() 로 현재 cost 로 다시 암호화해 저장한다.
+ *
+ * 지표 : password.hash.queue.time(대기 시간), password.hash.latency(계산 시간, op=encode|matches),
+ *        password.hash.queue.size, password.hash.rejected, password.rehash
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample";
+
+    private final int cost;
+    private final BCryptPasswordEncoder encoder;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor workers;
+
+    private final Timer queueTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+    private final Counter rehashCounter;
+
+    public PasswordHasher(MeterRegistry meterRegistry,
+                          @Value("${password.bcrypt.cost:0}") int cost,
+                          @Value("${password.bcrypt.target-ms:250}") long targetMs,
+                          @Value("${password.bcrypt.min-cost:10}") int minCost,
+                          @Value("${password.bcrypt.max-cost:14}") int maxCost,
+                          @Value("${password.hash.threads:0}") int threads,
+                          @Value("${password.hash.queue-capacity:200}") int queueCapacity,
+                          @Value("${password.hash.timeout-ms:5000}") long timeoutMs) {
+        this.cost = cost > 0 ? cost : calibrate(targetMs, minCost, maxCost);
+        this.encoder = new BCryptPasswordEncoder(this.cost);
+        this.timeoutMs = timeoutMs;
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger seq = new AtomicInteger();
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, queue, r -> {
+            Thread t = new Thread(r, "password-hasher-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        Gauge.builder("password.hash.queue.size", queue, BlockingQueue::size)
+                .description("계산 대기 중인 요청 수").register(meterRegistry);
+        this.queueTimer = Timer.builder("password.hash.queue.time")
+                .description("풀에 들어간 후 계산 시작까지 대기 시간").register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hash.latency").tag("op", "encode")
+                .description("BCrypt 계산 시간").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash.latency").tag("op", "matches")
+                .description("BCrypt 계산 시간").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hash.rejected")
+                .description("대기열 초과 / 시간 초과로 거절된 요청 수").register(meterRegistry);
+        this.rehashCounter = Counter.builder("password.rehash")
+                .description("현재 cost 로 다시 암호화한 비밀번호 수").register(meterRegistry);
+        log.info("BCrypt cost : {}, 스레드 수 : {}", this.cost, poolSize);
+    }
+
+    /**
+     * 비밀번호 암호화 (현재 cost)
+     */
+    public String encode(String rawPassword) {
+        return call(() -> encoder.encode(rawPassword), encodeTimer);
+    }
+
+    /**
+     * 비밀번호 일치 확인 (저장된 해시의 cost 로 계산)
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return call(() -> encoder.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    /**
+     * 저장된 해시의 cost 가 현재 cost 와 다른지 확인
+     */
+    public boolean needsRehash(String encodedPassword) {
+        int stored = costOf(encodedPassword);
+        return stored > 0 && stored != cost;
+    }
+
+    /**
+     * 현재 cost 로 다시 암호화 (응답을 기다리게 하지 않도록 풀에서 실행 후 store 호출)
+     * 대기열이 가득 차 있으면 건너뛰고 다음 로그인 때 다시 시도한다.
+     * @param rawPassword 일치 확인이 끝난 비밀번호
+     * @param store       새 해시 저장
+     */
+    public void rehash(String rawPassword, Consumer<String> store) {
+        try {
+            workers.execute(() -> {
+                try {
+                    long start = System.nanoTime();
+                    String encoded = encoder.encode(rawPassword);
+                    encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    store.accept(encoded);
+                    rehashCounter.increment();
+                } catch (Exception e) {
+                    log.error("비밀번호 재암호화 실패", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("비밀번호 재암호화 대기열 초과로 건너뜀");
+        }
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private <T> T call(Callable<T> task, Timer timer) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = workers.submit(() -> {
+                long start = System.nanoTime();
+                queueTimer.record(start - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new RejectedExecutionException("비밀번호 처리 요청이 많습니다. 잠시 후 다시 시도해 주세요.", e);
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new RejectedExecutionException("비밀번호 처리 시간이 초과되었습니다.", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("비밀번호 처리 중 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // 기준 cost 로 측정한 시간에서 target 을 넘지 않는 가장 큰 cost 계산 (cost +1 = 시간 2배)
+    private static int calibrate(long targetMs, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        probe.encode(SAMPLE_PASSWORD); // JIT 준비
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 2; i++) {
+            long start = System.nanoTime();
+            probe.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double ms = Math.max(best / 1_000_000.0, 0.001);
+        int cost = minCost;
+        while (cost < maxCost && ms * 2 <= targetMs) {
+            ms *= 2;
+            cost++;
+        }
+        log.info("BCrypt cost 측정 : cost {} 예상 {} ms (목표 {} ms)", cost, Math.round(ms), targetMs);
+        return cost;
+    }
+
+    // $2a$10$... 형식의 해시에서 cost 추출 (BCrypt 형식이 아니면 -1)
+    private static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        int sep = encodedPassword.indexOf('$', 1);
+        if (sep < 0 || sep + 3 >= encodedPassword.length() || encodedPassword.charAt(sep + 3) != '$') {
+            return -1;
+        }
+        char d1 = encodedPassword.charAt(sep + 1);
+        char d2 = encodedPassword.charAt(sep + 2);
+        if (!Character.isDigit(d1) || !Character.isDigit(d2)) {
+            return -1;
+        }
+        return (d1 - '0') * 10 + (d2 - '0');
+    }
+}
@@ -3,6 +3,7 @@ package edu.the.joeun.mapper;
 import edu.the.joeun.model.User;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
 
@@ -44,4 +45,14 @@ public interface UsersMapper {
      * @return email을 활용한 유저 정보를 service 에 전달 email 존재 유무에 따라 전달여부 설정
      */
     User getUserByEmail(String email);
+
+    /**
+     * 비밀번호 재암호화 (로그인 성공 후 BCrypt cost 가 바뀐 경우)
+     * 기존 비밀번호가 oldPassword 와 같을 때만 변경한다.
+     *
+     * @return 변경된 유저 수 (그 사이 비밀번호가 바뀌었으면 0)
+     */
+    int updatePasswordHash(@Param("email") String email,
+                           @Param("oldPassword") String oldPassword,
+                           @Param("newPassword") String newPassword);
 }
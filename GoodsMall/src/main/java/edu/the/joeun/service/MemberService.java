@@ -1,10 +1,10 @@
 package edu.the.joeun.service;
 
 
+import edu.the.joeun.common.util.PasswordHasher;
 import edu.the.joeun.mapper.MemberMapper;
 import edu.the.joeun.model.Member;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,7 +13,8 @@ public class MemberService {
    @Autowired
    private MemberMapper memberMapper;
 
-   private BCryptPasswordEncoder bCryptPasswordEncoder =  new BCryptPasswordEncoder();
+   @Autowired
+   private PasswordHasher passwordHasher;
 
 
    public void saveMember(Member member){
@@ -25,7 +26,7 @@ public class MemberService {
        //String originPW = member.getPassword();
        // 유저가 작성한 비밀번호 암호화 처리를 진행한다.
        // 처리된 비밀번호를 특정 변수공간에 담아놓는다.
-       //String newPW = bCryptPasswordEncoder.encode(originPW);
+       //String newPW = passwordHasher.encode(originPW);
 
        // 새로 만든 비밀번호를 member 내부에 있는 password 변수에 다시 담아놓는다.
 
@@ -34,7 +35,7 @@ public class MemberService {
        // 나누는 이유 -> 개발을 진행할 때 System.out.println()
        // 로 코드 로직이 개발자가 원하는 형태로 진행되고 있는지 확인하기 위해
        // 변수명칭으로 나누어서 작성
-       member.setPassword(bCryptPasswordEncoder.encode(member.getPassword()));
+       member.setPassword(passwordHasher.encode(member.getPassword()));
 
 
 
@@ -1,16 +1,17 @@
 package edu.the.joeun.service;
 
 
+import edu.the.joeun.common.util.PasswordHasher;
 import edu.the.joeun.common.util.SessionUtil;
 import edu.the.joeun.mapper.UsersMapper;
 import edu.the.joeun.model.User;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.ui.Model;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 public class UserService {
@@ -18,8 +19,9 @@ public class UserService {
     @Autowired
     private UsersMapper usersMapper;
 
-    // 다른 개발자가 만든 비밀번호 암호화 생성할 수 있는 객체
-    private BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder();
+    // 비밀번호 암호화 / 검증 (BCrypt 계산은 전용 스레드 풀에서 실행)
+    @Autowired
+    private PasswordHasher passwordHasher;
 
     public List<User> getAllUser(){
         return usersMapper.getAllUser();
@@ -29,7 +31,7 @@ public class UserService {
 
         System.out.println(user.toString());
         String 유저작성패스워드 = user.getPassword();
-        String 암호화처리패스워드 = bCryptPasswordEncoder.encode(유저작성패스워드);
+        String 암호화처리패스워드 = passwordHasher.encode(유저작성패스워드);
 
         user.setPassword(암호화처리패스워드); // 암호화 처리된 패스워드로 교체하여 user DB 저장하도록 설정
 
@@ -68,11 +70,25 @@ public class UserService {
             return "/login";
         }
         // 3. 비밀번호 검증
-         boolean passwordMatch = bCryptPasswordEncoder.matches(password, user.getPassword());
+        String storedPassword = user.getPassword();
+        boolean passwordMatch;
+        try {
+            passwordMatch = passwordHasher.matches(password, storedPassword);
+        } catch (RejectedExecutionException e) {
+            // 비밀번호 검증 대기열이 가득 찬 경우
+            model.addAttribute("error", e.getMessage());
+            return "/login";
+        }
         if(!passwordMatch){
             model.addAttribute("error","비밀번호가 일치하지 않습니다.");
             return "/login";
         }
+        // 저장된 비밀번호의 cost 가 현재 설정과 다르면 현재 cost 로 다시 암호화해서 저장
+        // (그 사이 비밀번호가 바뀌었으면 덮어쓰지 않도록 기존 비밀번호가 같을 때만 변경)
+        if(passwordHasher.needsRehash(storedPassword)) {
+            passwordHasher.rehash(password,
+                    encoded -> usersMapper.updatePasswordHash(email, storedPassword, encoded));
+        }
         // 4. 로그인 성공 : 세션 저장(비밀번호는 null 형태로 설정)
         user.setPassword(null);
         SessionUtil.setLoginUser(session, user);
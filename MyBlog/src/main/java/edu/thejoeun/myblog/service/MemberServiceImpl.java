@@ -1,10 +1,10 @@
 package edu.thejoeun.myblog.service;
 
+import edu.thejoeun.myblog.common.util.PasswordHasher;
 import edu.thejoeun.myblog.mapper.MemberMapper;
 import edu.thejoeun.myblog.model.Member;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
@@ -22,7 +22,9 @@ public class MemberServiceImpl implements MemberService {
     @Autowired
     private MemberMapper memberMapper;
 
-    private BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder();
+    // 비밀번호 암호화 (BCrypt 계산은 전용 스레드 풀에서 실행)
+    @Autowired
+    private PasswordHasher passwordHasher;
 
     @Override
     public List<Member> selectMemberList() {
@@ -58,7 +60,7 @@ public class MemberServiceImpl implements MemberService {
         // 암호화 설정 비밀번호 저장
         // html -> controller 로 가져온 데이터 중에서 멤버 비밀번호만 가져오기
         // 가져온 비밀번호를 암호화 처리해서 다시 비밀번호 공간에 넣어놓기
-        member.setMemberPassword(bCryptPasswordEncoder.encode(member.getMemberPassword()));
+        member.setMemberPassword(passwordHasher.encode(member.getMemberPassword()));
         // 모든 작업 이끝난 데이터를 DB에 저장하기
         memberMapper.saveMember(member);
     }